@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once with a single thread and once with a thread per
+ * processor. The GC profiler is enabled so allocation rates are reported along
+ * with the timings, and the results of each run are written to
+ * {@code jmh-<threads>.json} for comparison between builds.
+ * <p>
+ * Usage: {@code java -jar salve-benchmarks.jar [regexp]}, where the optional
+ * regular expression selects the benchmarks to run.
+ * </p>
+ *
+ * @author ivaynberg
+ */
+public class BenchmarkRunner {
+	public static void main(String[] args) throws RunnerException {
+		final String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+		final int[] threads = { 1, Runtime.getRuntime().availableProcessors() };
+
+		for (int count : threads) {
+			final Options options = new OptionsBuilder().include(include).threads(count).addProfiler(
+					GCProfiler.class).resultFormat(ResultFormatType.JSON).result("jmh-" + count + ".json").build();
+			new Runner(options).run();
+			if (threads[0] == threads[1]) {
+				break;
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import salve.depend.Cache;
+import salve.depend.Key;
+import salve.depend.cache.ClockCache;
+import salve.depend.cache.ConcurrentCache;
+import salve.depend.cache.Lru3Cache;
+
+/**
+ * Measures each {@link Cache} implementation on its own. Caches are created
+ * per thread, as {@link salve.depend.DependencyLibrary} uses them.
+ *
+ * @author ivaynberg
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+	@Param( { "clock", "lru3", "concurrent" })
+	public String impl;
+
+	private Cache<Key, Object> cache;
+	private Key[] keys;
+	private int index;
+
+	@Setup
+	public void setup() {
+		if ("clock".equals(impl)) {
+			cache = new ClockCache<Key, Object>(32);
+		} else if ("lru3".equals(impl)) {
+			cache = new Lru3Cache<Key, Object>();
+		} else {
+			cache = new ConcurrentCache<Key, Object>();
+		}
+		keys = Dependencies.keys();
+		for (Key key : keys) {
+			cache.put(key, key);
+		}
+	}
+
+	@Benchmark
+	public Object getSingle() {
+		return cache.get(keys[0]);
+	}
+
+	@Benchmark
+	public Object getRotating() {
+		return cache.get(keys[index++ & (keys.length - 1)]);
+	}
+
+	@Benchmark
+	public void putRotating() {
+		final Key key = keys[index++ & (keys.length - 1)];
+		cache.put(key, key);
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.benchmarks;
+
+import java.io.Closeable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import salve.depend.Cache;
+import salve.depend.CachePolicy;
+import salve.depend.CacheProvider;
+import salve.depend.Dependency;
+import salve.depend.InstrumentationStrategy;
+import salve.depend.Key;
+import salve.depend.KeyRegistry;
+import salve.depend.Locator;
+import salve.depend.Resolution;
+import salve.depend.ScopeAwareLocator;
+import salve.depend.TestKey;
+import salve.depend.cache.ClockCacheProvider;
+import salve.depend.cache.Lru3Cache;
+import salve.depend.cache.NoopCacheProvider;
+import salve.depend.cache.SharedCacheProvider;
+
+/**
+ * Dependencies and locators shared by the benchmarks
+ *
+ * @author ivaynberg
+ */
+final class Dependencies {
+	/** dependency types, the length is a power of two */
+	static final Class<?>[] TYPES = { Runnable.class, Comparable.class, CharSequence.class, Iterable.class,
+			Appendable.class, Readable.class, Closeable.class, Callable.class };
+
+	private static final InvocationHandler HANDLER = new InvocationHandler() {
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			return null;
+		}
+	};
+
+	private Dependencies() {
+	}
+
+	/**
+	 * @return canonical keys of all {@link #TYPES}
+	 */
+	static Key[] keys() {
+		final Key[] keys = new Key[TYPES.length];
+		for (int i = 0; i < TYPES.length; i++) {
+			keys[i] = KeyRegistry.intern(new TestKey(TYPES[i]));
+		}
+		return keys;
+	}
+
+	/**
+	 * @return locator that answers keys of all {@link #TYPES}, always with the
+	 *         same instance
+	 */
+	static Locator locator() {
+		final Map<Class<?>, Object> dependencies = new HashMap<Class<?>, Object>();
+		for (Class<?> type : TYPES) {
+			dependencies.put(type, Proxy.newProxyInstance(Dependencies.class.getClassLoader(),
+					new Class<?>[] { type }, HANDLER));
+		}
+		return new Locator() {
+			public Object locate(Key key) {
+				return dependencies.get(key.getType());
+			}
+		};
+	}
+
+	/**
+	 * @param locator
+	 * @return locator that answers keys of
+	 *         {@link InstrumentationStrategy#PER_CLASS} fields through the
+	 *         specified locator, with {@link CachePolicy#SINGLETON} so their
+	 *         holders keep the dependency
+	 */
+	static Locator perClassLocator(final Locator locator) {
+		return new ScopeAwareLocator() {
+			public Resolution resolve(Key key) {
+				final Object dependency = locate(key);
+				return dependency != null ? new Resolution(dependency, CachePolicy.SINGLETON) : null;
+			}
+
+			public Object locate(Key key) {
+				for (Annotation annotation : key.getAnnotations()) {
+					if (annotation instanceof Dependency
+							&& ((Dependency) annotation).strategy() == InstrumentationStrategy.PER_CLASS) {
+						return locator.locate(key);
+					}
+				}
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * @param name
+	 *            one of {@code clock}, {@code lru3}, {@code shared},
+	 *            {@code noop}
+	 * @return cache provider
+	 */
+	static CacheProvider cacheProvider(String name) {
+		if ("clock".equals(name)) {
+			return new ClockCacheProvider();
+		} else if ("lru3".equals(name)) {
+			return new CacheProvider() {
+				public Cache<Key, Object> getCache() {
+					return new Lru3Cache<Key, Object>();
+				}
+			};
+		} else if ("shared".equals(name)) {
+			return new SharedCacheProvider();
+		} else if ("noop".equals(name)) {
+			return new NoopCacheProvider();
+		}
+		throw new IllegalArgumentException("Unknown cache provider: " + name);
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.benchmarks;
+
+import salve.depend.Dependency;
+import salve.depend.DependencyFrame;
+import salve.depend.InstrumentationStrategy;
+
+/**
+ * Bean woven by the dependency aspect, with a dependency field for every
+ * instrumentation strategy
+ *
+ * @author ivaynberg
+ */
+public class DependentBean {
+	@Dependency(strategy = InstrumentationStrategy.INJECT_FIELD)
+	private static Runnable injectedStatic;
+
+	@Dependency
+	private static Runnable removedStatic;
+
+	@Dependency(strategy = InstrumentationStrategy.INJECT_FIELD)
+	private Runnable injected;
+
+	@Dependency
+	private transient Runnable removed;
+
+	@Dependency(strategy = InstrumentationStrategy.PER_CLASS)
+	private transient Runnable shared;
+
+	private final Runnable plain;
+
+	public DependentBean(Runnable plain) {
+		this.plain = plain;
+	}
+
+	public Runnable getInjected() {
+		return injected;
+	}
+
+	public Runnable getRemoved() {
+		return removed;
+	}
+
+	public Runnable getShared() {
+		return shared;
+	}
+
+	public Runnable getInjectedStatic() {
+		return injectedStatic;
+	}
+
+	public Runnable getRemovedStatic() {
+		return removedStatic;
+	}
+
+	public Runnable getPlain() {
+		return plain;
+	}
+
+	/**
+	 * Reads the removed field the specified number of times
+	 */
+	public Runnable readRemoved(int times) {
+		Runnable dependency = null;
+		for (int i = 0; i < times; i++) {
+			dependency = removed;
+		}
+		return dependency;
+	}
+
+	/**
+	 * Reads the removed field the specified number of times in a frame
+	 */
+	@DependencyFrame
+	public Runnable readRemovedFramed(int times) {
+		Runnable dependency = null;
+		for (int i = 0; i < times; i++) {
+			dependency = removed;
+		}
+		return dependency;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import salve.depend.Key;
+import salve.depend.KeyRegistry;
+import salve.depend.TestKey;
+import salve.depend.guice.GuiceBeanLocator;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+
+/**
+ * Measures {@link GuiceBeanLocator} against injectors of various sizes. The
+ * locator is called directly, bypassing all caches in
+ * {@link salve.depend.DependencyLibrary}.
+ *
+ * @author ivaynberg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuiceBeanLocatorBenchmark {
+	/**
+	 * Number of bindings in the injector besides the located ones
+	 */
+	@Param( { "10", "100", "1000" })
+	public int bindings;
+
+	private GuiceBeanLocator locator;
+	private Key instance;
+	private Key unscoped;
+
+	@Setup
+	public void setup() {
+		locator = new GuiceBeanLocator(Guice.createInjector(new AbstractModule() {
+			@Override
+			protected void configure() {
+				for (int i = 0; i < bindings; i++) {
+					bind(Object.class).annotatedWith(Names.named("binding" + i)).toInstance(new Object());
+				}
+				bind(Runnable.class).toInstance(new Thread());
+				bind(CharSequence.class).to(StringBuilder.class);
+			}
+		}));
+		instance = KeyRegistry.intern(new TestKey(Runnable.class));
+		unscoped = KeyRegistry.intern(new TestKey(CharSequence.class));
+	}
+
+	@Benchmark
+	public Object locateInstance() {
+		return locator.locate(instance);
+	}
+
+	@Benchmark
+	public Object locateUnscoped() {
+		return locator.locate(unscoped);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import salve.depend.DependencyLibrary;
+import salve.depend.Key;
+
+/**
+ * Measures {@link DependencyLibrary#locate(Key)} with each cache provider. The
+ * {@code noop} provider measures the miss path, where every lookup goes
+ * through the resolution plan to the locator.
+ *
+ * @author ivaynberg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocateBenchmark {
+	/**
+	 * Position of a thread in the key rotation
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+		int index;
+	}
+
+	@Param( { "clock", "lru3", "shared", "noop" })
+	public String cache;
+
+	private Key[] keys;
+
+	@Setup
+	public void setup() {
+		DependencyLibrary.clear();
+		DependencyLibrary.setCacheProvider(Dependencies.cacheProvider(cache));
+		DependencyLibrary.addLocator(Dependencies.locator());
+		keys = Dependencies.keys();
+	}
+
+	@TearDown
+	public void tearDown() {
+		DependencyLibrary.clear();
+	}
+
+	/**
+	 * Locates the same key over and over
+	 */
+	@Benchmark
+	public Object locateSingle() {
+		return DependencyLibrary.locate(keys[0]);
+	}
+
+	/**
+	 * Locates keys in rotation, as a request touching several dependencies
+	 * would
+	 */
+	@Benchmark
+	public Object locateRotating(Cursor cursor) {
+		return DependencyLibrary.locate(keys[cursor.index++ & (keys.length - 1)]);
+	}
+}
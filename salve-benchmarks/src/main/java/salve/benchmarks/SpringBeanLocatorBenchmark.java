@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticApplicationContext;
+
+import salve.depend.Key;
+import salve.depend.KeyRegistry;
+import salve.depend.TestKey;
+import salve.depend.spring.SpringBeanLocator;
+
+/**
+ * Measures {@link SpringBeanLocator} against contexts of various sizes. The
+ * locator is called directly, bypassing all caches in
+ * {@link salve.depend.DependencyLibrary}.
+ *
+ * @author ivaynberg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpringBeanLocatorBenchmark {
+	/**
+	 * Number of beans in the context besides the located ones
+	 */
+	@Param( { "10", "100", "1000" })
+	public int beans;
+
+	private StaticApplicationContext context;
+	private SpringBeanLocator locator;
+	private Key singleton;
+	private Key prototype;
+
+	@Setup
+	public void setup() {
+		context = new StaticApplicationContext();
+		for (int i = 0; i < beans; i++) {
+			context.registerSingleton("bean" + i, ArrayList.class);
+		}
+		context.registerSingleton("singleton", Thread.class);
+		context.registerPrototype("prototype", StringBuilder.class);
+		context.refresh();
+
+		locator = new SpringBeanLocator(context);
+		singleton = KeyRegistry.intern(new TestKey(Runnable.class));
+		prototype = KeyRegistry.intern(new TestKey(CharSequence.class));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Object locateSingleton() {
+		return locator.locate(singleton);
+	}
+
+	@Benchmark
+	public Object locatePrototype() {
+		return locator.locate(prototype);
+	}
+}
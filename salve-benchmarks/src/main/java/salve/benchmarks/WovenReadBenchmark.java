@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import salve.depend.DependencyLibrary;
+
+/**
+ * Measures reads of woven {@code @Dependency} fields, with a read of a plain
+ * field as the baseline. The {@code noop} cache provider shows the cost of
+ * reads when dependencies cannot be cached, as is the case for scoped beans.
+ *
+ * @author ivaynberg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WovenReadBenchmark {
+	/** number of reads in the loop benchmarks */
+	private static final int READS = 8;
+
+	@Param( { "clock", "noop" })
+	public String cache;
+
+	/**
+	 * Bean of a single thread, so injected fields are not shared
+	 */
+	@State(Scope.Thread)
+	public static class Beans {
+		DependentBean bean;
+
+		@Setup
+		public void setup() {
+			bean = new DependentBean(new Runnable() {
+				public void run() {
+				}
+			});
+		}
+	}
+
+	@Setup
+	public void setup() {
+		DependencyLibrary.clear();
+		DependencyLibrary.setCacheProvider(Dependencies.cacheProvider(cache));
+		DependencyLibrary.addLocator(Dependencies.perClassLocator(Dependencies.locator()));
+		DependencyLibrary.addLocator(Dependencies.locator());
+	}
+
+	@TearDown
+	public void tearDown() {
+		DependencyLibrary.clear();
+	}
+
+	@Benchmark
+	public Object plain(Beans beans) {
+		return beans.bean.getPlain();
+	}
+
+	@Benchmark
+	public Object injectField(Beans beans) {
+		return beans.bean.getInjected();
+	}
+
+	@Benchmark
+	public Object removeField(Beans beans) {
+		return beans.bean.getRemoved();
+	}
+
+	@Benchmark
+	public Object perClassField(Beans beans) {
+		return beans.bean.getShared();
+	}
+
+	@Benchmark
+	public Object removeFieldLoop(Beans beans) {
+		return beans.bean.readRemoved(READS);
+	}
+
+	@Benchmark
+	public Object removeFieldFramedLoop(Beans beans) {
+		return beans.bean.readRemovedFramed(READS);
+	}
+
+	@Benchmark
+	public Object injectStaticField(Beans beans) {
+		return beans.bean.getInjectedStatic();
+	}
+
+	@Benchmark
+	public Object removeStaticField(Beans beans) {
+		return beans.bean.getRemovedStatic();
+	}
+}
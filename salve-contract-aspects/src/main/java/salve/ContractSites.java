@@ -0,0 +1,200 @@
+package salve;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.aspectj.lang.reflect.ConstructorSignature;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import salve.contract.ContractMode;
+import salve.contract.Contracts;
+
+/**
+ * Parameters checked by a contract aspect, computed once per advised method or constructor
+ * 
+ * @author igor.vaynberg
+ */
+class ContractSites
+{
+    /**
+     * Index of the first parameter that is checked through the arguments array rather than bound
+     * by its position. Such parameters share the sampling slot of this index.
+     */
+    static final int OVERFLOW = 4;
+
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Checked parameters of a single method or constructor
+     */
+    static final class Site extends SampledSite
+    {
+        /** indices of checked parameters in ascending order */
+        final int[] parameters;
+        /** number of parameters, also the sampling slot of the return value */
+        final int arity;
+
+        Site(int[] parameters, int arity)
+        {
+            // one sampling slot per parameter and one for the return value
+            super(arity + 1);
+            this.parameters = parameters;
+            this.arity = arity;
+        }
+    }
+
+    private final Class< ? extends Annotation> annotation;
+    private final Class< ? > type;
+    private final ConcurrentMap<JoinPoint.StaticPart, Site> sites = new ConcurrentHashMap<JoinPoint.StaticPart, Site>();
+
+    /**
+     * Constructor
+     * 
+     * @param annotation
+     *            contract annotation
+     * @param type
+     *            type of parameters the contract applies to, {@link Number} includes primitive
+     *            numbers
+     */
+    public ContractSites(Class< ? extends Annotation> annotation, Class< ? > type)
+    {
+        this.annotation = annotation;
+        this.type = type;
+    }
+
+    /**
+     * Returns the parameters that carry the contract annotation and are of the contract type
+     * 
+     * @param part
+     *            execution join point of a method or constructor
+     * @return checked parameters
+     */
+    public Site get(JoinPoint.StaticPart part)
+    {
+        Site site = sites.get(part);
+        if (site == null)
+        {
+            final Signature signature = part.getSignature();
+            site = new Site(findParameters(signature), ((CodeSignature)signature)
+                    .getParameterTypes().length);
+            sites.putIfAbsent(part, site);
+        }
+        return site;
+    }
+
+    /**
+     * Decides whether an execution checks a parameter bound by its position
+     * 
+     * @param part
+     *            execution join point
+     * @param index
+     *            index of the parameter
+     * @return {@code true} unless the parameter is not sampled in {@link ContractMode#SAMPLED}
+     */
+    public boolean sample(JoinPoint.StaticPart part, int index)
+    {
+        return Contracts.getMode() != ContractMode.SAMPLED || get(part).sample(index);
+    }
+
+    /**
+     * Decides whether an execution checks its parameters from {@link #OVERFLOW} on. Used to guard
+     * advice that reads the arguments array, so the array and the join point are only allocated
+     * for executions that are checked.
+     * 
+     * @param part
+     *            execution join point
+     * @return {@code true} unless the parameters are not sampled in {@link ContractMode#SAMPLED}
+     */
+    public boolean sampleOverflow(JoinPoint.StaticPart part)
+    {
+        return sample(part, OVERFLOW);
+    }
+
+    /**
+     * Decides whether an execution checks its return value
+     * 
+     * @param part
+     *            execution join point
+     * @return {@code true} unless the return value is not sampled in {@link ContractMode#SAMPLED}
+     */
+    public boolean sampleResult(JoinPoint.StaticPart part)
+    {
+        if (Contracts.getMode() != ContractMode.SAMPLED)
+        {
+            return true;
+        }
+        final Site site = get(part);
+        return site.sample(site.arity);
+    }
+
+    private int[] findParameters(Signature signature)
+    {
+        final Class< ? >[] types;
+        final Annotation[][] annotations;
+        if (signature instanceof MethodSignature)
+        {
+            final Method method = ((MethodSignature)signature).getMethod();
+            types = method.getParameterTypes();
+            annotations = method.getParameterAnnotations();
+        }
+        else if (signature instanceof ConstructorSignature)
+        {
+            final Constructor< ? > constructor = ((ConstructorSignature)signature).getConstructor();
+            types = constructor.getParameterTypes();
+            annotations = constructor.getParameterAnnotations();
+        }
+        else
+        {
+            return NONE;
+        }
+
+        // annotations of synthetic parameters, such as the outer instance of an inner class, may
+        // be missing
+        final int offset = types.length - annotations.length;
+        int count = 0;
+        final int[] indices = new int[types.length];
+        for (int i = 0; i < annotations.length; i++)
+        {
+            if (isChecked(types[offset + i]) && isAnnotated(annotations[i]))
+            {
+                indices[count++] = offset + i;
+            }
+        }
+        final int[] found = new int[count];
+        System.arraycopy(indices, 0, found, 0, count);
+        return found;
+    }
+
+    /**
+     * @param parameterType
+     * @return {@code true} if parameters of the type are checked, primitive numbers are checked by
+     *         contracts of {@link Number} parameters
+     */
+    private boolean isChecked(Class< ? > parameterType)
+    {
+        if (parameterType.isPrimitive())
+        {
+            return type == Number.class && parameterType != boolean.class
+                    && parameterType != char.class;
+        }
+        return type.isAssignableFrom(parameterType);
+    }
+
+    private boolean isAnnotated(Annotation[] annotations)
+    {
+        for (Annotation candidate : annotations)
+        {
+            if (candidate.annotationType() == annotation)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,130 @@
+package salve;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Numeric contracts enforced by {@link NumericContractAspect}, one per contract annotation. The
+ * aspect compares primitive values itself, contracts check other {@link Number}s and describe
+ * violations.
+ * 
+ * @author igor.vaynberg
+ */
+enum NumericContract
+{
+    GE0("greater then or equal to zero")
+    {
+        @Override
+        boolean accepts(long value)
+        {
+            return value >= 0;
+        }
+
+        @Override
+        boolean accepts(double value)
+        {
+            return value >= 0;
+        }
+    },
+
+    GT0("greater then zero")
+    {
+        @Override
+        boolean accepts(long value)
+        {
+            return value > 0;
+        }
+
+        @Override
+        boolean accepts(double value)
+        {
+            return value > 0;
+        }
+    },
+
+    LE0("less then or equal to zero")
+    {
+        @Override
+        boolean accepts(long value)
+        {
+            return value <= 0;
+        }
+
+        @Override
+        boolean accepts(double value)
+        {
+            return value <= 0;
+        }
+    },
+
+    LT0("less then zero")
+    {
+        @Override
+        boolean accepts(long value)
+        {
+            return value < 0;
+        }
+
+        @Override
+        boolean accepts(double value)
+        {
+            return value < 0;
+        }
+    };
+
+    private final String description;
+
+    private NumericContract(String description)
+    {
+        this.description = description;
+    }
+
+    /**
+     * @return description used in violation messages
+     */
+    String getDescription()
+    {
+        return description;
+    }
+
+    /**
+     * @param value
+     * @return {@code true} if the value satisfies the contract
+     */
+    abstract boolean accepts(long value);
+
+    /**
+     * @param value
+     * @return {@code true} if the value satisfies the contract, never for {@code NaN}
+     */
+    abstract boolean accepts(double value);
+
+    /**
+     * Checks integral wrappers by their {@code long} value and any other number, whose
+     * {@code long} value may be truncated, by its {@code double} value.
+     * 
+     * @param value
+     *            non-null value
+     * @return {@code true} if the value satisfies the contract
+     */
+    boolean accepts(Number value)
+    {
+        if (value instanceof BigDecimal)
+        {
+            return accepts((long)((BigDecimal)value).signum());
+        }
+        else if (value instanceof BigInteger)
+        {
+            return accepts((long)((BigInteger)value).signum());
+        }
+        else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof AtomicInteger
+                || value instanceof AtomicLong)
+        {
+            return accepts(value.longValue());
+        }
+        return accepts(value.doubleValue());
+    }
+}
@@ -0,0 +1,51 @@
+package salve;
+
+import salve.contract.ContractMode;
+import salve.contract.Contracts;
+
+/**
+ * Advised method or constructor that decides which executions are checked in
+ * {@link ContractMode#SAMPLED}. Each site has a countdown per independently checked slot, such as
+ * its parameters or its return value.
+ * <p>
+ * Countdowns are deliberately read and written without synchronization. Threads racing on the same
+ * slot may lose a decrement or both reset it, which only shifts the next sample by a few
+ * executions; sampling is approximate by design and is not worth a lock or an atomic update on
+ * every advised execution.
+ * </p>
+ * 
+ * @author igor.vaynberg
+ */
+abstract class SampledSite
+{
+    private final int[] countdowns;
+
+    /**
+     * Constructor
+     * 
+     * @param slots
+     *            number of independently checked slots
+     */
+    SampledSite(int slots)
+    {
+        countdowns = new int[slots];
+    }
+
+    /**
+     * @param slot
+     * @return {@code true} if this execution should be checked
+     */
+    final boolean sample(int slot)
+    {
+        if (Contracts.getMode() != ContractMode.SAMPLED)
+        {
+            return true;
+        }
+        if (--countdowns[slot] > 0)
+        {
+            return false;
+        }
+        countdowns[slot] = Contracts.getSampling();
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+package salve.contract;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import junit.framework.TestCase;
+
+
+public class ContractModeTest extends TestCase
+{
+    @Override
+    protected void tearDown() throws Exception
+    {
+        Contracts.setMode(ContractMode.FULL);
+        Contracts.setSampling(Contracts.DEFAULT_SAMPLING);
+    }
+
+    public void testOff()
+    {
+        Contracts.setMode(ContractMode.OFF);
+        new NotNullTestBean().test0(null);
+        new NotNullTestBean().testResult(null);
+        new NumericTestBean().testInt(-1, -1, 1, 1);
+        assertFalse(Contracts.isEnabled());
+    }
+
+    public void testOffDoesNotAllocate()
+    {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean))
+        {
+            // allocation cannot be measured on this vm
+            return;
+        }
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean)threads;
+        if (!allocations.isThreadAllocatedMemorySupported()
+                || !allocations.isThreadAllocatedMemoryEnabled())
+        {
+            return;
+        }
+        Contracts.setMode(ContractMode.OFF);
+        NotNullTestBean bean = new NotNullTestBean();
+        final long id = Thread.currentThread().getId();
+        final long before = allocations.getThreadAllocatedBytes(id);
+        for (int i = 0; i < 1000; i++)
+        {
+            // checked through the arguments array when contracts are enabled
+            bean.test9("", "", "", "", "", "", "", "", "", "");
+        }
+        final long allocated = allocations.getThreadAllocatedBytes(id) - before;
+        assertTrue("Allocated " + allocated + " bytes", allocated < 1000);
+    }
+
+    public void testSampled()
+    {
+        Contracts.setMode(ContractMode.SAMPLED);
+        Contracts.setSampling(3);
+        NotNullTestBean bean = new NotNullTestBean();
+        int violations = 0;
+        for (int i = 0; i < 9; i++)
+        {
+            try
+            {
+                bean.test1("", null);
+            }
+            catch (IllegalArgumentException e)
+            {
+                violations++;
+            }
+        }
+        assertEquals(3, violations);
+    }
+
+    public void testSampledParametersAreIndependent()
+    {
+        Contracts.setMode(ContractMode.SAMPLED);
+        Contracts.setSampling(2);
+        NumericTestBean bean = new NumericTestBean();
+        int violations = 0;
+        for (int i = 0; i < 4; i++)
+        {
+            try
+            {
+                bean.testInt(0, 1, 0, 0);
+            }
+            catch (IllegalArgumentException e)
+            {
+                violations++;
+            }
+        }
+        assertEquals(2, violations);
+    }
+
+    public void testInvalidPropertiesFallBack()
+    {
+        assertEquals(ContractMode.SAMPLED, Contracts.parseMode(" sampled "));
+        assertEquals(ContractMode.FULL, Contracts.parseMode("sometimes"));
+        assertEquals(7, Contracts.parseSampling("7"));
+        assertEquals(Contracts.DEFAULT_SAMPLING, Contracts.parseSampling("0"));
+        assertEquals(Contracts.DEFAULT_SAMPLING, Contracts.parseSampling("often"));
+    }
+
+    public void testFull()
+    {
+        try
+        {
+            new NotNullTestBean().test0(null);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            // noop
+        }
+    }
+}
@@ -18,4 +18,22 @@ public class NotEmptyCharSequenceContractAspectTest extends AbstractContractAspe
         executeArgumentTestHarness(new NotEmptyCharSequenceTestBean(), null, 10, "a", "    ");
     }
 
+    public void testResult()
+    {
+        NotEmptyCharSequenceTestBean bean = new NotEmptyCharSequenceTestBean();
+        assertEquals("a", bean.testResult("a"));
+        for (String value : new String[] { null, "", "    " })
+        {
+            try
+            {
+                bean.testResult(value);
+                fail();
+            }
+            catch (IllegalStateException e)
+            {
+                // noop
+            }
+        }
+    }
+
 }
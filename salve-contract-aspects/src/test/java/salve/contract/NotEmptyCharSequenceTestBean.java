@@ -108,4 +108,10 @@ class NotEmptyCharSequenceTestBean
  @NotEmpty String i, @NotEmpty String j)
     {
     }
+
+    @NotEmpty
+    public CharSequence testResult(CharSequence value)
+    {
+        return value;
+    }
 }
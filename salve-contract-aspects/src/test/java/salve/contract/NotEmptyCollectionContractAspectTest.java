@@ -40,6 +40,20 @@ public class NotEmptyCollectionContractAspectTest extends AbstractContractAspect
         }
     }
 
+    public void testResult()
+    {
+        new NotEmptyCollectionTestBean().testResult(Collections.singletonList("a"));
+        try
+        {
+            new NotEmptyCollectionTestBean().testResult(Collections.emptyList());
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            // noop
+        }
+    }
+
     public void testSet()
     {
         new NotEmptyCollectionTestBean().testSet(Collections.singleton("a"));
@@ -136,4 +136,10 @@ class NotEmptyCollectionTestBean
             @NotEmpty Collection< ? > i, @NotEmpty Collection< ? > j)
     {
     }
+
+    @NotEmpty
+    public List< ? > testResult(List< ? > value)
+    {
+        return value;
+    }
 }
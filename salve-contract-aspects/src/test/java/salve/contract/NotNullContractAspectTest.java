@@ -14,5 +14,50 @@ public class NotNullContractAspectTest extends AbstractContractAspectTest
         executeArgumentTestHarness(new NotNullTestBean(), null, 10, "", null);
     }
 
+    public void testPrimitiveArguments()
+    {
+        NotNullTestBean bean = new NotNullTestBean();
+        bean.testPrimitive(0, "");
+        try
+        {
+            bean.testPrimitive(0, null);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertTrue(e.getMessage().startsWith("Argument[2] is null"));
+        }
+    }
+
+    public void testResult()
+    {
+        NotNullTestBean bean = new NotNullTestBean();
+        assertEquals("", bean.testResult(""));
+        try
+        {
+            bean.testResult(null);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().startsWith("Return value is null"));
+        }
+    }
+
+    public void testMixedArguments()
+    {
+        NotNullTestBean bean = new NotNullTestBean();
+        bean.testMixed("", null, 0, null, null, null, null, null, null, null, null, "");
+        try
+        {
+            bean.testMixed("", "", 0, "", "", "", "", "", "", "", "", null);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertTrue(e.getMessage().startsWith("Argument[12] is null"));
+        }
+    }
+
 
 }
@@ -115,4 +115,19 @@ class NotNullTestBean
     {
     }
 
+    public void testPrimitive(int a, @NotNull String b)
+    {
+    }
+
+    @NotNull
+    public String testResult(String value)
+    {
+        return value;
+    }
+
+    public void testMixed(@NotNull String a, String b, int c, String d, String e, String f,
+            String g, String h, String i, String j, String k, @NotNull String l)
+    {
+    }
+
 }
@@ -0,0 +1,236 @@
+package salve.contract;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import junit.framework.TestCase;
+
+
+public class NumericContractAspectTest extends TestCase
+{
+    private final NumericTestBean bean = new NumericTestBean();
+
+    public void testInt()
+    {
+        bean.testInt(0, 1, 0, -1);
+        assertArgumentViolation(1, new Runnable()
+        {
+            public void run()
+            {
+                bean.testInt(-1, 1, 0, -1);
+            }
+        });
+        assertArgumentViolation(2, new Runnable()
+        {
+            public void run()
+            {
+                bean.testInt(0, 0, 0, -1);
+            }
+        });
+        assertArgumentViolation(3, new Runnable()
+        {
+            public void run()
+            {
+                bean.testInt(0, 1, 1, -1);
+            }
+        });
+        assertArgumentViolation(4, new Runnable()
+        {
+            public void run()
+            {
+                bean.testInt(0, 1, 0, 0);
+            }
+        });
+    }
+
+    public void testPrimitives()
+    {
+        bean.testPrimitives(1, (short)1, (byte)1, 0.1, 0.1f);
+        assertArgumentViolation(2, new Runnable()
+        {
+            public void run()
+            {
+                bean.testPrimitives(1, (short)0, (byte)1, 0.1, 0.1f);
+            }
+        });
+        assertArgumentViolation(3, new Runnable()
+        {
+            public void run()
+            {
+                bean.testPrimitives(1, (short)1, (byte)-1, 0.1, 0.1f);
+            }
+        });
+        assertArgumentViolation(4, new Runnable()
+        {
+            public void run()
+            {
+                bean.testPrimitives(1, (short)1, (byte)1, Double.NaN, 0.1f);
+            }
+        });
+        // parameters past the fourth position are checked too
+        assertArgumentViolation(5, new Runnable()
+        {
+            public void run()
+            {
+                bean.testPrimitives(1, (short)1, (byte)1, 0.1, 0f);
+            }
+        });
+        assertArgumentViolation(6, new Runnable()
+        {
+            public void run()
+            {
+                bean.testLastPosition(0, 0, 0, 0, 0, -1);
+            }
+        });
+    }
+
+    public void testNumbers()
+    {
+        bean.testNumbers(1, BigDecimal.ONE, BigInteger.ONE, 0.5);
+        // null values are left to NotNull
+        bean.testNumbers(null, null, null, null);
+        assertArgumentViolation(2, new Runnable()
+        {
+            public void run()
+            {
+                bean.testNumbers(1, new BigDecimal("-0.5"), BigInteger.ONE, 0.5);
+            }
+        });
+        assertArgumentViolation(3, new Runnable()
+        {
+            public void run()
+            {
+                bean.testNumbers(1, BigDecimal.ONE, BigInteger.ZERO, 0.5);
+            }
+        });
+    }
+
+    public void testOtherNumber()
+    {
+        bean.testOtherNumber(new Fraction(0.5));
+        assertArgumentViolation(1, new Runnable()
+        {
+            public void run()
+            {
+                bean.testOtherNumber(new Fraction(-0.5));
+            }
+        });
+    }
+
+    public void testCombined()
+    {
+        bean.testCombined(0);
+        assertArgumentViolation(1, new Runnable()
+        {
+            public void run()
+            {
+                bean.testCombined(1);
+            }
+        });
+        assertArgumentViolation(1, new Runnable()
+        {
+            public void run()
+            {
+                bean.testCombined(-1);
+            }
+        });
+    }
+
+    public void testConstructor()
+    {
+        new NumericTestBean("", 1);
+        assertArgumentViolation(2, new Runnable()
+        {
+            public void run()
+            {
+                new NumericTestBean("", 0);
+            }
+        });
+    }
+
+    public void testResult()
+    {
+        bean.testIntResult(0);
+        bean.testDoubleResult(-0.5);
+        bean.testNumberResult(BigDecimal.TEN);
+        try
+        {
+            bean.testIntResult(-1);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            // noop
+        }
+        try
+        {
+            bean.testDoubleResult(0);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            // noop
+        }
+        try
+        {
+            bean.testNumberResult(BigDecimal.ZERO);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            // noop
+        }
+    }
+
+    /**
+     * Number whose {@code long} value is truncated
+     */
+    private static class Fraction extends Number
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final double value;
+
+        Fraction(double value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public double doubleValue()
+        {
+            return value;
+        }
+
+        @Override
+        public float floatValue()
+        {
+            return (float)value;
+        }
+
+        @Override
+        public int intValue()
+        {
+            return (int)value;
+        }
+
+        @Override
+        public long longValue()
+        {
+            return (long)value;
+        }
+    }
+
+    private static void assertArgumentViolation(int argument, Runnable call)
+    {
+        try
+        {
+            call.run();
+            fail("Should have thrown an exception for argument " + argument);
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Argument[" + argument + "]"));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package salve.contract;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+
+/**
+ * 
+ * @author igor.vaynberg
+ */
+class NumericTestBean
+{
+    public NumericTestBean()
+    {
+    }
+
+    public NumericTestBean(String a, @GT0 int b)
+    {
+    }
+
+    public void testInt(@GE0 int a, @GT0 int b, @LE0 int c, @LT0 int d)
+    {
+    }
+
+    public void testPrimitives(@GT0 long a, @GT0 short b, @GT0 byte c, @GT0 double d, @GT0 float e)
+    {
+    }
+
+    public void testNumbers(@GT0 Integer a, @GT0 BigDecimal b, @GT0 BigInteger c, @GT0 Double d)
+    {
+    }
+
+    public void testOtherNumber(@GT0 Number a)
+    {
+    }
+
+    public void testCombined(@GE0 @LE0 int a)
+    {
+    }
+
+    public void testLastPosition(int a, int b, int c, int d, int e, @GE0 int f)
+    {
+    }
+
+    @GE0
+    public int testIntResult(int value)
+    {
+        return value;
+    }
+
+    @LT0
+    public double testDoubleResult(double value)
+    {
+        return value;
+    }
+
+    @GT0
+    public BigDecimal testNumberResult(BigDecimal value)
+    {
+        return value;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.contract;
+
+/**
+ * Describes how woven contracts are enforced at runtime
+ * 
+ * @see Contracts#setMode(ContractMode)
+ * 
+ * @author ivaynberg
+ */
+public enum ContractMode {
+	/**
+	 * Contracts are not checked. Woven code only tests the mode before
+	 * skipping the check.
+	 */
+	OFF,
+
+	/**
+	 * Each contract is checked once every {@link Contracts#getSampling()}
+	 * executions of the method or constructor that declares it
+	 */
+	SAMPLED,
+
+	/**
+	 * Contracts are checked on every execution. This is the default.
+	 */
+	FULL;
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.contract;
+
+import java.util.logging.Logger;
+
+/**
+ * Controls enforcement of woven contracts at runtime. The initial settings
+ * are read from system properties, for example
+ * {@code -Dsalve.contract.mode=SAMPLED -Dsalve.contract.sampling=1000}, and
+ * can be changed at any time.
+ * 
+ * @see ContractMode
+ * 
+ * @author ivaynberg
+ */
+public final class Contracts {
+	/** Name of the system property holding the initial {@link ContractMode} */
+	public static final String MODE_PROPERTY = "salve.contract.mode";
+
+	/** Name of the system property holding the initial sampling interval */
+	public static final String SAMPLING_PROPERTY = "salve.contract.sampling";
+
+	/** Default sampling interval */
+	public static final int DEFAULT_SAMPLING = 100;
+
+	/**
+	 * Immutable settings, replaced as a whole so that a reader never sees the
+	 * mode of one change with the sampling interval of another
+	 */
+	private static final class Config {
+		private final ContractMode mode;
+		private final boolean enabled;
+		private final int sampling;
+
+		Config(ContractMode mode, int sampling) {
+			this.mode = mode;
+			this.enabled = mode != ContractMode.OFF;
+			this.sampling = sampling;
+		}
+	}
+
+	private static final Object lock = new Object();
+	private static volatile Config config = new Config(parseMode(System.getProperty(MODE_PROPERTY)),
+			parseSampling(System.getProperty(SAMPLING_PROPERTY)));
+
+	private Contracts() {
+	}
+
+	/**
+	 * @return current mode
+	 */
+	public static ContractMode getMode() {
+		return config.mode;
+	}
+
+	/**
+	 * Sets the mode, the change applies to all woven contracts
+	 * 
+	 * @param mode
+	 *            new mode, not {@code null}
+	 */
+	public static void setMode(ContractMode mode) {
+		if (mode == null) {
+			throw new IllegalArgumentException("Argument `mode` cannot be null");
+		}
+		synchronized (lock) {
+			config = new Config(mode, config.sampling);
+		}
+	}
+
+	/**
+	 * Woven contracts test this before doing any other work, it is a single
+	 * volatile read
+	 * 
+	 * @return {@code false} if mode is {@link ContractMode#OFF}
+	 */
+	public static boolean isEnabled() {
+		return config.enabled;
+	}
+
+	/**
+	 * @return number of executions per check in {@link ContractMode#SAMPLED}
+	 */
+	public static int getSampling() {
+		return config.sampling;
+	}
+
+	/**
+	 * Sets the number of executions per check in {@link ContractMode#SAMPLED}
+	 * 
+	 * @param sampling
+	 *            number of executions per check, {@code 1} checks every
+	 *            execution
+	 */
+	public static void setSampling(int sampling) {
+		if (sampling < 1) {
+			throw new IllegalArgumentException("Argument `sampling` must be greater then zero");
+		}
+		synchronized (lock) {
+			config = new Config(config.mode, sampling);
+		}
+	}
+
+	/**
+	 * Parses the initial mode, an invalid value is logged and falls back to
+	 * {@link ContractMode#FULL} so it cannot fail class initialization
+	 */
+	static ContractMode parseMode(String value) {
+		if (value == null) {
+			return ContractMode.FULL;
+		}
+		try {
+			return ContractMode.valueOf(value.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			invalid(MODE_PROPERTY, value, ContractMode.FULL);
+			return ContractMode.FULL;
+		}
+	}
+
+	/**
+	 * Parses the initial sampling interval, an invalid value is logged and
+	 * falls back to {@link #DEFAULT_SAMPLING} so it cannot fail class
+	 * initialization
+	 */
+	static int parseSampling(String value) {
+		if (value == null) {
+			return DEFAULT_SAMPLING;
+		}
+		try {
+			final int sampling = Integer.parseInt(value.trim());
+			if (sampling >= 1) {
+				return sampling;
+			}
+		} catch (NumberFormatException e) {
+			// reported below
+		}
+		invalid(SAMPLING_PROPERTY, value, DEFAULT_SAMPLING);
+		return DEFAULT_SAMPLING;
+	}
+
+	private static void invalid(String property, String value, Object fallback) {
+		Logger.getLogger(Contracts.class.getName()).warning(
+				String.format("Invalid value of system property %s: %s, using %s", property, value,
+						fallback));
+	}
+}
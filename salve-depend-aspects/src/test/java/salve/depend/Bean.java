@@ -65,6 +65,15 @@ public class Bean extends AbstractBean
     @Dependency
     private static BlueDependency staticBlue;
 
+    @Dependency(strategy = InstrumentationStrategy.INJECT_FIELD, publication = Publication.ONCE)
+    private volatile BlackDependency published;
+
+    @Dependency(strategy = InstrumentationStrategy.PER_CLASS)
+    private transient BlackDependency shared;
+
+    @Dependency(strategy = InstrumentationStrategy.LAZY_PROXY)
+    private BlackDependency lazy;
+
 
     public Bean()
     {
@@ -96,6 +105,21 @@ public class Bean extends AbstractBean
         return blue;
     }
 
+    public BlackDependency getPublished()
+    {
+        return published;
+    }
+
+    public BlackDependency getShared()
+    {
+        return shared;
+    }
+
+    public BlackDependency getLazy()
+    {
+        return lazy;
+    }
+
     public RedDependency getRed()
     {
         return red;
@@ -122,6 +146,26 @@ public class Bean extends AbstractBean
 
     }
 
+    @DependencyFrame
+    public void methodFramed()
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            red.method1();
+        }
+    }
+
+    @DependencyFrame
+    public void methodFramedRecursive(int depth)
+    {
+        red.method1();
+        if (depth > 0)
+        {
+            methodFramedRecursive(depth - 1);
+        }
+        red.method1();
+    }
+
     /**
      * Tests access to a dependency field from an anonymous class. Notice the field has to have
      * visibility of non-private for this test to work properly.
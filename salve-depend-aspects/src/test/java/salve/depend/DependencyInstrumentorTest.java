@@ -191,6 +191,142 @@ public class DependencyInstrumentorTest extends Assert
         }.test();
     }
 
+    @Test
+    public void testFramedFieldRead() throws Exception
+    {
+        new EasyMockTemplate(locator, red)
+        {
+
+            @Override
+            protected void setupExpectations()
+            {
+                // red is looked up once per execution of the framed method
+                EasyMock.expect(
+                        locator.locate(new FieldKey(Bean.class, REMOVED_FIELD_PREFIX + "red")))
+                        .andReturn(red).times(2);
+                red.method1();
+                EasyMock.expectLastCall().times(6);
+            }
+
+            @Override
+            protected void testExpectations() throws Exception
+            {
+                Bean bean = (Bean)beanClass.newInstance();
+                bean.methodFramed();
+                bean.methodFramed();
+            }
+        }.test();
+    }
+
+    @Test
+    public void testRecursiveFramedFieldRead() throws Exception
+    {
+        new EasyMockTemplate(locator, red)
+        {
+
+            @Override
+            protected void setupExpectations()
+            {
+                // each of the three nested executions looks red up once, reads after the
+                // recursion returns are served by the frame of their own execution
+                EasyMock.expect(
+                        locator.locate(new FieldKey(Bean.class, REMOVED_FIELD_PREFIX + "red")))
+                        .andReturn(red).times(3);
+                red.method1();
+                EasyMock.expectLastCall().times(6);
+            }
+
+            @Override
+            protected void testExpectations() throws Exception
+            {
+                Bean bean = (Bean)beanClass.newInstance();
+                bean.methodFramedRecursive(2);
+            }
+        }.test();
+    }
+
+    @Test
+    public void testPerClassFieldRead() throws Exception
+    {
+        final BlackDependency black = EasyMock.createMock(BlackDependency.class);
+
+        new EasyMockTemplate(locator)
+        {
+
+            @Override
+            protected void setupExpectations()
+            {
+                // only singletons are shared by all instances, the plain
+                // locator is asked on every read
+                EasyMock.expect(locator.locate(new FieldKey(Bean.class, "shared"))).andReturn(black)
+                        .times(3);
+            }
+
+            @Override
+            protected void testExpectations() throws Exception
+            {
+                DependencyLibrary.invalidate();
+                assertTrue(((Bean)beanClass.newInstance()).getShared() == black);
+                assertTrue(((Bean)beanClass.newInstance()).getShared() == black);
+                DependencyLibrary.invalidate();
+                assertTrue(((Bean)beanClass.newInstance()).getShared() == black);
+            }
+        }.test();
+    }
+
+    @Test
+    public void testLazyProxyFieldRead() throws Exception
+    {
+        final BlackDependency black = EasyMock.createMock(BlackDependency.class);
+
+        new EasyMockTemplate(locator, black)
+        {
+
+            @Override
+            protected void setupExpectations()
+            {
+                // looked up on the first call only
+                EasyMock.expect(locator.locate(new FieldKey(Bean.class, "lazy"))).andReturn(black);
+                black.method1();
+                black.method2();
+            }
+
+            @Override
+            protected void testExpectations() throws Exception
+            {
+                Bean bean = (Bean)beanClass.newInstance();
+                BlackDependency proxy = bean.getLazy();
+                assertTrue(proxy == bean.getLazy());
+                proxy.method1();
+                proxy.method2();
+            }
+        }.test();
+    }
+
+    @Test
+    public void testPublishedFieldRead() throws Exception
+    {
+        final BlackDependency black = EasyMock.createMock(BlackDependency.class);
+
+        new EasyMockTemplate(locator)
+        {
+
+            @Override
+            protected void setupExpectations()
+            {
+                EasyMock.expect(locator.locate(new FieldKey(Bean.class, "published"))).andReturn(black);
+            }
+
+            @Override
+            protected void testExpectations() throws Exception
+            {
+                Bean bean = (Bean)beanClass.newInstance();
+                assertTrue(bean.getPublished() == black);
+                assertTrue(bean.getPublished() == black);
+            }
+        }.test();
+    }
+
     @Ignore
     @Test
     public void testInnerClassFieldRead() throws Exception
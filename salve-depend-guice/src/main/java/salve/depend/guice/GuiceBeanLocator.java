@@ -18,17 +18,31 @@ package salve.depend.guice;
 
 import java.lang.annotation.Annotation;
 
+import salve.depend.CachePolicy;
 import salve.depend.DependencyLibrary;
 import salve.depend.Key;
 import salve.depend.Locator;
+import salve.depend.Resolution;
+import salve.depend.ScopeAwareLocator;
 
+import com.google.inject.Binding;
 import com.google.inject.BindingAnnotation;
 import com.google.inject.Injector;
+import com.google.inject.Scope;
+import com.google.inject.Scopes;
+import com.google.inject.Singleton;
+import com.google.inject.spi.BindingScopingVisitor;
+import com.google.inject.spi.InstanceBinding;
 
 /**
  * Salve locator that can connect {@link DependencyLibrary} to guice
  * {@link Injector}.
  * <p>
+ * Singleton bindings are reported with {@link CachePolicy#SINGLETON},
+ * unscoped bindings with {@link CachePolicy#UNCACHEABLE} and bindings in any
+ * other scope with {@link CachePolicy#SCOPED}.
+ * </p>
+ * <p>
  * NOTE It is recommended to install this locator as the last in the chain
  * because of guice's implicit-binding concept which makes it difficult to
  * properly return null from {@link #locate(Key)} when no binding for specified
@@ -38,7 +52,37 @@ import com.google.inject.Injector;
  * @author ivaynberg
  * 
  */
-public class GuiceBeanLocator implements Locator {
+public class GuiceBeanLocator implements ScopeAwareLocator {
+	private static final BindingScopingVisitor<CachePolicy> SCOPING = new BindingScopingVisitor<CachePolicy>() {
+
+		public CachePolicy visitEagerSingleton() {
+			return CachePolicy.SINGLETON;
+		}
+
+		public CachePolicy visitNoScoping() {
+			return CachePolicy.UNCACHEABLE;
+		}
+
+		public CachePolicy visitScope(Scope scope) {
+			if (scope == Scopes.SINGLETON) {
+				return CachePolicy.SINGLETON;
+			} else if (scope == Scopes.NO_SCOPE) {
+				return CachePolicy.UNCACHEABLE;
+			} else {
+				return CachePolicy.SCOPED;
+			}
+		}
+
+		public CachePolicy visitScopeAnnotation(
+				Class<? extends Annotation> scopeAnnotation) {
+			if (scopeAnnotation == Singleton.class) {
+				return CachePolicy.SINGLETON;
+			} else {
+				return CachePolicy.SCOPED;
+			}
+		}
+	};
+
 	private final Injector injector;
 
 	/**
@@ -54,6 +98,14 @@ public class GuiceBeanLocator implements Locator {
 	 * {@inheritDoc}
 	 */
 	public Object locate(Key key) {
+		final Resolution resolution = resolve(key);
+		return resolution == null ? null : resolution.getDependency();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Resolution resolve(Key key) {
 
 		Annotation bindingAnnot = null;
 
@@ -74,7 +126,16 @@ public class GuiceBeanLocator implements Locator {
 					bindingAnnot);
 		}
 
-		return injector.getInstance(guiceKey);
+		final Binding<?> binding = injector.getBinding(guiceKey);
+		final Object dependency = binding.getProvider().get();
+		if (dependency == null) {
+			return null;
+		}
+
+		// instances bound with toInstance() are always the same object
+		final CachePolicy policy = binding instanceof InstanceBinding<?> ? CachePolicy.SINGLETON
+				: binding.acceptScopingVisitor(SCOPING);
+		return new Resolution(dependency, policy);
 
 		// XXX investigate properly returning null, see javadoc note
 	}
@@ -18,12 +18,16 @@ package salve.depend.guice;
 
 import junit.framework.Assert;
 
+import java.util.ArrayList;
+
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import salve.depend.CachePolicy;
 import salve.depend.DependencyLibrary;
 import salve.depend.FieldKey;
-import salve.depend.Locator;
+import salve.depend.ScopeAwareLocator;
+import salve.depend.TestKey;
 import salve.depend.guice.model.Blue;
 import salve.depend.guice.model.Injected;
 import salve.depend.guice.model.MockService;
@@ -37,7 +41,7 @@ import com.google.inject.Scopes;
 
 public class GuiceBeanLocatorTest
 {
-    private static Locator locator;
+    private static ScopeAwareLocator locator;
 
     @BeforeClass
     public static void init() throws Exception
@@ -82,6 +86,17 @@ public class GuiceBeanLocatorTest
         Assert.assertEquals(ts.getName(), "BlueTestService");
     }
 
+    @Test
+    public void testCachePolicy()
+    {
+        Assert.assertEquals(CachePolicy.SINGLETON, locator.resolve(
+                new FieldKey(Injected.class, "testService")).getPolicy());
+        Assert.assertEquals(CachePolicy.SINGLETON, locator.resolve(
+                new FieldKey(Injected.class, "blueTestService")).getPolicy());
+        Assert.assertEquals(CachePolicy.UNCACHEABLE, locator.resolve(
+                new TestKey(ArrayList.class)).getPolicy());
+    }
+
     @Test
     public void testToString()
     {
@@ -16,12 +16,19 @@ package salve.depend.spring;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
 
 import salve.depend.DependencyLibrary;
 
 /**
  * A bean that when dropped into a spring context will link DependencyLibrary
- * with that spring context
+ * with that spring context. Dependencies cached by {@link DependencyLibrary}
+ * are invalidated whenever the context is refreshed, and the context is
+ * unlinked from {@link DependencyLibrary} when it is closed so that it can be
+ * garbage collected, for example after the application is redeployed.
  * <p>
  * Example spring configuration: {@code  <bean
  * class="salve.depend.spring.SalveConfigurator"/>}
@@ -29,10 +36,27 @@ import salve.depend.DependencyLibrary;
  * 
  * @author ivaynberg
  */
-public class SalveConfigurator implements ApplicationContextAware {
+public class SalveConfigurator implements ApplicationContextAware,
+		ApplicationListener {
+	private ApplicationContext context;
+	private SpringBeanLocator locator;
+
 	public void setApplicationContext(ApplicationContext context)
 			throws BeansException {
-		DependencyLibrary.addLocator(new SpringBeanLocator(context));
+		this.context = context;
+		locator = new SpringBeanLocator(context);
+		DependencyLibrary.addLocator(locator);
+	}
+
+	public void onApplicationEvent(ApplicationEvent event) {
+		if (event.getSource() != context) {
+			return;
+		}
+		if (event instanceof ContextRefreshedEvent) {
+			DependencyLibrary.invalidate();
+		} else if (event instanceof ContextClosedEvent) {
+			DependencyLibrary.removeLocator(locator);
+		}
 	}
 
 }
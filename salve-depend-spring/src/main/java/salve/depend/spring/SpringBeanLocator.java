@@ -18,17 +18,23 @@ import java.util.Map;
 
 import org.springframework.context.ApplicationContext;
 
+import salve.depend.CachePolicy;
 import salve.depend.DependencyResolutionConflictException;
 import salve.depend.Key;
 import salve.depend.Locator;
+import salve.depend.Resolution;
+import salve.depend.ScopeAwareLocator;
 
 /**
  * Implementation of {@link Locator} that looks up dependencies from spring's
- * {@link ApplicationContext}
+ * {@link ApplicationContext}. Singleton beans are reported with
+ * {@link CachePolicy#SINGLETON}, prototype beans with
+ * {@link CachePolicy#UNCACHEABLE} and beans of any other scope with
+ * {@link CachePolicy#SCOPED}.
  * 
  * @author ivaynberg
  */
-public class SpringBeanLocator implements Locator {
+public class SpringBeanLocator implements ScopeAwareLocator {
 	private final ApplicationContext context;
 
 	/**
@@ -45,8 +51,16 @@ public class SpringBeanLocator implements Locator {
 	/**
 	 * {@inheritDoc}
 	 */
-	@SuppressWarnings("unchecked")
 	public Object locate(Key key) {
+		final Resolution resolution = resolve(key);
+		return resolution == null ? null : resolution.getDependency();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	public Resolution resolve(Key key) {
 
 		if (key == null) {
 			throw new IllegalArgumentException("Argument key cannot be null");
@@ -62,12 +76,15 @@ public class SpringBeanLocator implements Locator {
 		}
 
 		if (id != null) {
-			return context.getBean(id.value(), key.getType());
+			return new Resolution(context.getBean(id.value(), key.getType()),
+					getPolicy(id.value()));
 		}
 
 		Map<String, Object> beans = context.getBeansOfType(key.getType());
 		if (beans.size() == 1) {
-			return beans.values().iterator().next();
+			final Map.Entry<String, Object> bean = beans.entrySet()
+					.iterator().next();
+			return new Resolution(bean.getValue(), getPolicy(bean.getKey()));
 		} else if (beans.size() == 0) {
 			return null;
 		} else {
@@ -84,6 +101,22 @@ public class SpringBeanLocator implements Locator {
 		}
 	}
 
+	/**
+	 * Determines caching policy of a bean from its scope
+	 * 
+	 * @param beanName
+	 * @return caching policy
+	 */
+	private CachePolicy getPolicy(String beanName) {
+		if (context.isSingleton(beanName)) {
+			return CachePolicy.SINGLETON;
+		} else if (context.isPrototype(beanName)) {
+			return CachePolicy.UNCACHEABLE;
+		} else {
+			return CachePolicy.SCOPED;
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
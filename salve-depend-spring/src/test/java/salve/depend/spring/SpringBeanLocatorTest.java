@@ -7,17 +7,18 @@ import org.junit.Test;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 
+import salve.depend.CachePolicy;
 import salve.depend.DependencyLibrary;
 import salve.depend.DependencyNotFoundException;
 import salve.depend.DependencyResolutionConflictException;
 import salve.depend.FieldKey;
-import salve.depend.Locator;
+import salve.depend.ScopeAwareLocator;
 import salve.depend.spring.model.A;
 import salve.depend.spring.model.C;
 import salve.depend.spring.model.Injected;
 
 public class SpringBeanLocatorTest {
-	private static Locator locator;
+	private static ScopeAwareLocator locator;
 	private static Object injected;
 
 	private static final String BEAN_NAME = "salve/depend/spring/model/Injected";
@@ -60,6 +61,17 @@ public class SpringBeanLocatorTest {
 		Assert.assertEquals(getFieldValue("a").getClass(), A.class);
 	}
 
+	@Test
+	public void testCachePolicy() {
+		Assert.assertEquals(CachePolicy.SINGLETON, locator.resolve(
+				new FieldKey(Injected.class, "c")).getPolicy());
+		Assert.assertEquals(CachePolicy.UNCACHEABLE, locator.resolve(
+				new FieldKey(Injected.class, "f")).getPolicy());
+
+		// prototypes are not cached
+		Assert.assertNotSame(getFieldValue("f"), getFieldValue("f"));
+	}
+
 	@Test
 	public void testToString() {
 		Assert.assertNotNull(locator.toString());
@@ -0,0 +1,5 @@
+package salve.depend.spring.model;
+
+public class F {
+
+}
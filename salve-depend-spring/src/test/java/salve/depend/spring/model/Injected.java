@@ -24,6 +24,10 @@ public class Injected {
 	@Dependency
 	private E e;
 
+	// test prototype
+	@Dependency
+	private F f;
+
 	public A getA() {
 		return a;
 	}
@@ -44,4 +48,8 @@ public class Injected {
 		return e;
 	}
 
+	public F getF() {
+		return f;
+	}
+
 }
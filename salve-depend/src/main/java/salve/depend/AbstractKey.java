@@ -17,34 +17,81 @@
 package salve.depend;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 import java.util.Arrays;
 
 /**
  * Base class for dependency keys that implements {@link #equals(Object)},
  * {@link #hashCode()}, and {@link #toString()}
+ * <p>
+ * The type, generic type and annotations of the key are captured into a
+ * fingerprint the first time the key is compared or hashed, so subclasses must
+ * return the same values from {@link #getType()}, {@link #getGenericType()}
+ * and {@link #getAnnotations()} for the lifetime of the key.
+ * </p>
  * 
  * @author igor.vaynberg
  * 
  */
 public abstract class AbstractKey implements Key {
+	/**
+	 * Immutable snapshot of the parts of the key that determine its identity
+	 */
+	private static final class Fingerprint {
+		private final Class<?> type;
+		private final Type genericType;
+		private final Annotation[] annotations;
+		private final int hash;
+
+		Fingerprint(Key key) {
+			type = key.getType();
+			genericType = key.getGenericType();
+			final Annotation[] annots = key.getAnnotations();
+			annotations = annots == null ? null : annots.clone();
+
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + Arrays.hashCode(annotations);
+			result = prime * result + (genericType == null ? 0 : genericType.hashCode());
+			result = prime * result + (type == null ? 0 : type.hashCode());
+			hash = result;
+		}
+
+		boolean matches(Fingerprint other) {
+			return hash == other.hash && type == other.type && equal(genericType, other.genericType)
+					&& Arrays.equals(annotations, other.annotations);
+		}
+
+		boolean matches(Key other) {
+			return type == other.getType() && equal(genericType, other.getGenericType())
+					&& Arrays.equals(annotations, other.getAnnotations());
+		}
+
+		private static boolean equal(Object a, Object b) {
+			return a == b || (a != null && a.equals(b));
+		}
+	}
+
+	// racy initialization is fine, all fields of the fingerprint are final. the
+	// fingerprint is recomputed after deserialization
+	private transient Fingerprint fingerprint;
+
+	private Fingerprint fingerprint() {
+		Fingerprint print = fingerprint;
+		if (print == null) {
+			fingerprint = print = new Fingerprint(this);
+		}
+		return print;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj == this) {
 			return true;
-		} else if (obj == null) {
-			return false;
+		} else if (obj instanceof AbstractKey) {
+			return fingerprint().matches(((AbstractKey) obj).fingerprint());
 		} else if (obj instanceof Key) {
-			Key other = (Key) obj;
-			if (!getType().equals(other.getType())) {
-				return false;
-			}
-			if (!getGenericType().equals(other.getGenericType())) {
-				return false;
-			}
-			if (!Arrays.equals(getAnnotations(), other.getAnnotations())) {
-				return false;
-			}
-			return true;
+			return fingerprint().matches((Key) obj);
 		} else {
 			return false;
 		}
@@ -52,12 +99,7 @@ public abstract class AbstractKey implements Key {
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + Arrays.hashCode(getAnnotations());
-		result = prime * result + (getGenericType() == null ? 0 : getGenericType().hashCode());
-		result = prime * result + (getType() == null ? 0 : getType().hashCode());
-		return result;
+		return fingerprint().hash;
 	}
 
 	/**
@@ -16,6 +16,20 @@
  */
 package salve.depend;
 
+/**
+ * Cache used by {@link DependencyLibrary} to store located dependencies.
+ * Implementations may compare keys by identity, callers are expected to pass
+ * in canonical keys obtained from {@link KeyRegistry}.
+ * 
+ * @see CacheProvider
+ * @see EvictingCache
+ * @see KeyRegistry
+ * 
+ * @author ivaynberg
+ * 
+ * @param <K>
+ * @param <V>
+ */
 public interface Cache<K, V> {
 
 	public abstract void clear();
@@ -29,11 +43,11 @@ public interface Cache<K, V> {
 	public abstract V get(final K key);
 
 	/**
-	 * Put the object into the cache. The object is put in the first place and
-	 * any existing objects are shifted toward the end to make room.
+	 * Puts the object into the cache. The cache may evict other objects to
+	 * make room for it, or discard it.
 	 * 
 	 * @param key
-	 * @param values
+	 * @param value
 	 */
 	public abstract void put(final K key, final V value);
 
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+/**
+ * Describes how {@link DependencyLibrary} may cache a dependency returned by
+ * a {@link ScopeAwareLocator}
+ * 
+ * @see ScopeAwareLocator
+ * @see Resolution
+ * 
+ * @author ivaynberg
+ */
+public enum CachePolicy {
+	/**
+	 * The same instance is returned for the lifetime of the locator. The
+	 * dependency is cached permanently, until the library is invalidated.
+	 */
+	SINGLETON,
+
+	/**
+	 * The instance is bound to a scope of the container, such as a request or
+	 * a session. The dependency is never cached, it is located every time.
+	 */
+	SCOPED,
+
+	/**
+	 * A new instance may be returned every time, for example a prototype
+	 * bean. The dependency is never cached, it is located every time.
+	 */
+	UNCACHEABLE;
+}
@@ -17,7 +17,13 @@
 package salve.depend;
 
 /**
- * Provides a cache used in {@link DependencyLibrary}
+ * Provides a cache used in {@link DependencyLibrary}. The provider is asked for
+ * a cache again in every generation of the library, see
+ * {@link DependencyLibrary#getGeneration()}. Returned caches must not hold
+ * dependencies of older generations, a provider that shares a cache between
+ * threads has to return a new cache in each generation instead of clearing
+ * the old one, which threads still locating in the old generation may put
+ * into.
  * 
  * @author ivaynberg
  * 
@@ -34,4 +34,10 @@ import java.lang.annotation.Target;
 @Target(ElementType.FIELD)
 public @interface Dependency {
 	public InstrumentationStrategy strategy() default InstrumentationStrategy.REMOVE_FIELD;
+
+	/**
+	 * Publication of the injected dependency, only used by
+	 * {@link InstrumentationStrategy#INJECT_FIELD}
+	 */
+	public Publication publication() default Publication.PLAIN;
 }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gives each execution of the annotated method or constructor, or of every
+ * method and constructor of the annotated type, a frame of dependencies.
+ * Within a frame each {@link InstrumentationStrategy#REMOVE_FIELD} dependency
+ * is located at most once, no matter how many times the field is read, for
+ * example inside a loop. Frames belong to the executing thread, recursive and
+ * concurrent executions of the same method each have a frame of their own.
+ * 
+ * The fields read by earlier executions are located together when the frame
+ * is entered. A dependency that cannot be located at that point is located
+ * again when its field is read, which then reports the failure.
+ * 
+ * Reads from anonymous and inner classes declared inside a framed method are
+ * not part of its frame.
+ * 
+ * @see InstrumentationStrategy#REMOVE_FIELD
+ * 
+ * @author ivaynberg
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target( { ElementType.METHOD, ElementType.CONSTRUCTOR, ElementType.TYPE })
+public @interface DependencyFrame {
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the dependency of a single {@link InstrumentationStrategy#PER_CLASS}
+ * field, shared by all instances of the declaring class. Once located, the
+ * dependency is read with a single volatile load. Holders are cleared when
+ * {@link DependencyLibrary} is invalidated.
+ * <p>
+ * Only dependencies located with {@link CachePolicy#SINGLETON} are held.
+ * Dependencies with any other policy, or located by a locator that is not a
+ * {@link ScopeAwareLocator}, are located on every read so the
+ * {@link DependencyLibrary} cache and policies still apply to them.
+ * </p>
+ * 
+ * @author ivaynberg
+ */
+public class DependencyHolder {
+	private static final ConcurrentMap<Field, DependencyHolder> holders = new ConcurrentHashMap<Field, DependencyHolder>();
+
+	private final Key key;
+	private volatile Object dependency;
+
+	private DependencyHolder(Field field) {
+		key = KeyRegistry.forField(field);
+	}
+
+	/**
+	 * Returns the holder of the specified field
+	 * 
+	 * @param field
+	 *            dependency field
+	 * @return holder
+	 */
+	public static DependencyHolder forField(Field field) {
+		if (field == null) {
+			throw new IllegalArgumentException("Argument `field` cannot be null");
+		}
+		DependencyHolder holder = holders.get(field);
+		if (holder == null) {
+			holder = new DependencyHolder(field);
+			final DependencyHolder existing = holders.putIfAbsent(field, holder);
+			if (existing != null) {
+				holder = existing;
+			}
+		}
+		return holder;
+	}
+
+	/**
+	 * Clears all holders, called when {@link DependencyLibrary} is invalidated
+	 */
+	static void clearAll() {
+		for (DependencyHolder holder : holders.values()) {
+			holder.dependency = null;
+		}
+	}
+
+	/**
+	 * @return key of the held dependency
+	 */
+	public Key getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns the held dependency, locating it if the holder is empty or the
+	 * dependency is not a singleton
+	 * 
+	 * @return dependency
+	 * @throws DependencyNotFoundException
+	 *             when dependency is not found in any registered locator
+	 */
+	public Object get() throws DependencyNotFoundException {
+		Object dependency = this.dependency;
+		if (dependency == null) {
+			final int generation = DependencyLibrary.getGeneration();
+			dependency = DependencyLibrary.locate(key);
+			if (DependencyLibrary.isSingleton(key, dependency)) {
+				this.dependency = dependency;
+				if (DependencyLibrary.getGeneration() != generation) {
+					// library was invalidated while locating, the dependency
+					// may come from a locator that is no longer registered
+					this.dependency = null;
+				}
+			}
+		}
+		return dependency;
+	}
+}
@@ -16,10 +16,16 @@
  */
 package salve.depend;
 
-import salve.depend.cache.Lru3Cache;
+import salve.depend.cache.ClockCacheProvider;
+import salve.depend.cache.ConcurrentCache;
+import salve.depend.cache.SharedCacheProvider;
 
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Dependency library is a singleton that holds all registered locators. Users
@@ -29,30 +35,58 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * @author ivaynberg
  */
 public class DependencyLibrary {
-	private static final List<Locator> locators = new CopyOnWriteArrayList<Locator>();
-	private static volatile CacheProvider cacheProvider = new CacheProvider() {
+	private static final Locator[] NO_LOCATORS = new Locator[0];
 
-		public Cache<Key, Object> getCache() {
-			return new Lru3Cache<Key, Object>();
-		}
+	/**
+	 * Registered locators. The array is never modified, changes publish a new
+	 * array so lookups always see a complete set of locators.
+	 */
+	private static volatile Locator[] locators = NO_LOCATORS;
+	private static final Object lock = new Object();
+	private static volatile CacheProvider cacheProvider = new ClockCacheProvider();
 
-	};
+	/**
+	 * Provides the cache shared by all threads in
+	 * {@link ResolutionContext#SHARED}, {@code null} in
+	 * {@link ResolutionContext#THREAD}
+	 */
+	private static volatile SharedCacheProvider shared;
 
-	private static final ThreadLocal<Cache<Key, Object>> LRU = new ThreadLocal<Cache<Key, Object>>() {
+	/**
+	 * Generation of the library, incremented whenever the locators change or
+	 * the library is invalidated. Thread caches created in an older generation
+	 * are discarded the next time they are used.
+	 */
+	private static final AtomicInteger generation = new AtomicInteger();
 
-		@Override
-		public Cache<Key, Object> get() {
-			// using initialValue() would be better but then we need ThreadLocal.remove() and therefore
-			// advanced mode when using retrotranslator
-			Cache<Key, Object> value = super.get();
+	/**
+	 * Dependencies located with {@link CachePolicy#SINGLETON}, shared by all
+	 * threads and replaced when the library is invalidated
+	 */
+	private static volatile Cache<Key, Object> singletons = new ConcurrentCache<Key, Object>();
 
-			if(value == null)
-				set(value = cacheProvider.getCache());
+	/**
+	 * Resolution plans of located keys, replaced when the library is
+	 * invalidated so that a plan never refers to a locator that is no longer
+	 * registered
+	 */
+	private static volatile Cache<Key, Plan> plans = new ConcurrentCache<Key, Plan>();
 
-			return value;
-		}
+	/**
+	 * Cache holder of each thread. Threads only reference their holders
+	 * weakly, so a pooled thread that outlives the application does not pin
+	 * the classloader of the application. The holders are kept alive by
+	 * {@link #holders}.
+	 */
+	private static final ThreadLocal<Reference<CacheHolder>> LRU = new ThreadLocal<Reference<CacheHolder>>();
 
-	};
+	/**
+	 * Cache holders of all live threads, so that {@link #invalidate()} can
+	 * release the dependencies they hold. A holder is removed once its thread
+	 * is no longer reachable.
+	 */
+	private static final Map<Thread, CacheHolder> holders = Collections
+			.synchronizedMap(new WeakHashMap<Thread, CacheHolder>());
 
 	/**
 	 * Registers a locator
@@ -60,25 +94,136 @@ public class DependencyLibrary {
 	 * @param locator
 	 */
 	public static void addLocator(Locator locator) {
-		locators.add(locator);
+		if (locator == null) {
+			throw new IllegalArgumentException("Argument `locator` cannot be null");
+		}
+		synchronized (lock) {
+			final Locator[] locators = new Locator[DependencyLibrary.locators.length + 1];
+			System.arraycopy(DependencyLibrary.locators, 0, locators, 0, locators.length - 1);
+			locators[locators.length - 1] = locator;
+			DependencyLibrary.locators = locators;
+			invalidate();
+		}
+	}
+
+	/**
+	 * Unregisters a locator
+	 *
+	 * @param locator
+	 */
+	public static void removeLocator(Locator locator) {
+		synchronized (lock) {
+			final Locator[] locators = DependencyLibrary.locators;
+			for (int i = 0; i < locators.length; i++) {
+				if (locators[i].equals(locator)) {
+					final Locator[] removed = new Locator[locators.length - 1];
+					System.arraycopy(locators, 0, removed, 0, i);
+					System.arraycopy(locators, i + 1, removed, i, removed.length - i);
+					DependencyLibrary.locators = removed;
+					break;
+				}
+			}
+			invalidate();
+		}
+	}
+
+	/**
+	 * Replaces all registered locators at once, for example when the
+	 * application context backing them is replaced. Lookups running
+	 * concurrently use either the old or the new locators, never a partial or
+	 * empty set as they could with {@link #clear()} followed by
+	 * {@link #addLocator(Locator)}.
+	 *
+	 * @param locators
+	 */
+	public static void replaceLocators(Locator... locators) {
+		if (locators == null) {
+			throw new IllegalArgumentException("Argument `locators` cannot be null");
+		}
+		final Locator[] replaced = locators.clone();
+		for (Locator locator : replaced) {
+			if (locator == null) {
+				throw new IllegalArgumentException("Argument `locators` cannot contain null");
+			}
+		}
+		synchronized (lock) {
+			DependencyLibrary.locators = replaced;
+			invalidate();
+		}
 	}
 
 	/**
-	 * Clears all registered locators
+	 * Clears all registered locators and invalidates cached dependencies
 	 */
 	public static void clear() {
-		locators.clear();
-		// TODO there is no way to clear all the values from all threads...
-		// use set(null) instead of remove() which is @since 1.5:
-		// this enables retrotranslation without using mode = "advanced"
-		// (and probably makes the resulting bytecode a little safer)
-		// LRU.remove();
-		LRU.set(null);
+		synchronized (lock) {
+			locators = NO_LOCATORS;
+			invalidate();
+		}
+	}
+
+	/**
+	 * Invalidates dependencies cached by all threads. This should be called
+	 * when the contents of a registered locator change, for example when the
+	 * application context backing the locator is refreshed.
+	 * <p>
+	 * Caches of all threads are released immediately so they do not keep
+	 * dependencies reachable, and are replaced the next time those threads
+	 * locate a dependency, as are the {@link DependencyHolder}s of
+	 * {@link InstrumentationStrategy#PER_CLASS} fields. Caches are replaced
+	 * rather than cleared, so a lookup that is still running in the old
+	 * generation can only put the dependency it located into a cache that is
+	 * no longer used.
+	 * </p>
+	 */
+	public static void invalidate() {
+		generation.incrementAndGet();
+		singletons = new ConcurrentCache<Key, Object>();
+		plans = new ConcurrentCache<Key, Plan>();
+		DependencyHolder.clearAll();
+		LocatorProvider.clearAll();
+		synchronized (holders) {
+			for (CacheHolder holder : holders.values()) {
+				holder.release();
+			}
+		}
+		final SharedCacheProvider shared = DependencyLibrary.shared;
+		if (shared != null) {
+			// moves the shared cache to the new generation right away, so the
+			// old one no longer pins its dependencies
+			shared.getCache();
+		}
+	}
+
+	/**
+	 * @return generation of the library, incremented every time the cached
+	 *         dependencies are invalidated, which includes every change of
+	 *         the registered locators
+	 */
+	public static int getGeneration() {
+		return generation.get();
 	}
 
 	/**
 	 * Attempts to find a dependency using registered locators and the specified
-	 * dependency key
+	 * dependency key. Keys should be obtained from {@link KeyRegistry} so that
+	 * the dependency cache can be used.
+	 * <p>
+	 * Dependencies located by a {@link ScopeAwareLocator} are cached according
+	 * to their {@link CachePolicy}, singletons are cached until the library is
+	 * invalidated and all others are located every time.
+	 * </p>
+	 * <p>
+	 * The locator that answers a key is remembered in a resolution plan, later
+	 * lookups of the key that miss the caches go to that locator first and
+	 * skip the type check if it returns a dependency of the same class. The
+	 * plan also remembers the locators that could not locate the key, those
+	 * are not asked for it again until the library is invalidated.
+	 * </p>
+	 * <p>
+	 * Keys of type {@link Provider} are answered by the library itself with a
+	 * provider of the dependency identified by the type argument of the key.
+	 * </p>
 	 *
 	 * @param key
 	 * @return located dependency
@@ -89,32 +234,333 @@ public class DependencyLibrary {
 		if (key == null) {
 			throw new IllegalArgumentException("Argument `key` cannot be null");
 		}
+		return locate(key, null, -1);
+	}
 
-		Object dependency = LRU.get().get(key);
+	/**
+	 * Locates a dependency by a key numbered with {@link KeyRegistry#getId(Key)}.
+	 * If the cache of the current thread is an {@link EvictingCache}, the
+	 * dependencies it holds are also kept in an array indexed by the id, so
+	 * repeated lookups are served by an array load instead of a cache lookup.
+	 * Those lookups are reported to the cache with
+	 * {@link EvictingCache#touch(Object)}, and entries the cache evicts are
+	 * removed from the array as well. Otherwise this method behaves like
+	 * {@link #locate(Key)}.
+	 * <p>
+	 * In {@link ResolutionContext#SHARED} there are no thread caches and this
+	 * method is the same as {@link #locate(Key)}.
+	 * </p>
+	 *
+	 * @param key
+	 * @param id
+	 *            id of the key
+	 * @return located dependency
+	 * @throws DependencyNotFoundException
+	 *             when dependency is not found in any registered locator
+	 */
+	public static Object locate(Key key, int id) throws DependencyNotFoundException {
+		if (shared != null) {
+			return locate(key);
+		}
+		final CacheHolder holder = holder();
+		final Object dependency = holder.getSlot(key, id);
 		if (dependency != null) {
 			return dependency;
 		}
+		return locate(key, holder, id);
+	}
 
-		for (Locator locator : locators) {
-			dependency = locator.locate(key);
+	/**
+	 * Locates the dependencies of several keys numbered with
+	 * {@link KeyRegistry#getId(Key)} at once, for example those read by a
+	 * {@link DependencyFrame}. The cache holder of the current thread is looked
+	 * up once for all keys, otherwise this method behaves like
+	 * {@link #locate(Key, int)} called for each key.
+	 * <p>
+	 * A dependency that cannot be located is left {@code null}, the caller is
+	 * expected to locate it again with {@link #locate(Key, int)} when it is
+	 * actually needed, which then reports the failure.
+	 * </p>
+	 *
+	 * @param keys
+	 * @param ids
+	 *            ids of the keys
+	 * @param dependencies
+	 *            array that receives the located dependencies, at least as long
+	 *            as the keys
+	 */
+	public static void locate(Key[] keys, int[] ids, Object[] dependencies) {
+		final CacheHolder holder = shared != null ? null : holder();
+		for (int i = 0; i < keys.length; i++) {
+			final int id = ids[i];
+			if (holder != null) {
+				final Object dependency = holder.getSlot(keys[i], id);
+				if (dependency != null) {
+					dependencies[i] = dependency;
+					continue;
+				}
+			}
+			try {
+				dependencies[i] = locate(keys[i], holder, id);
+			} catch (RuntimeException e) {
+				// reported when the dependency is located on its own
+				dependencies[i] = null;
+			}
+		}
+	}
+
+	/**
+	 * Locates a dependency, and keeps it in the slot of the key if the cache of
+	 * the current thread holds it
+	 *
+	 * @param key
+	 * @param holder
+	 *            cache holder of the current thread or {@code null}
+	 * @param id
+	 *            id of the key or {@code -1}
+	 * @return located dependency
+	 */
+	private static Object locate(Key key, CacheHolder holder, int id) {
+		// caches are read once, if the library is invalidated during the lookup
+		// the located dependency ends up in caches that have been replaced
+		final SharedCacheProvider shared = DependencyLibrary.shared;
+		if (shared != null) {
+			holder = null;
+		} else if (holder == null) {
+			holder = holder();
+		}
+		final Cache<Key, Object> cache = shared != null ? shared.getCache() : holder.getCache();
+		Object dependency = cache.get(key);
+		if (dependency != null) {
+			if (holder != null) {
+				holder.setSlot(id, dependency);
+			}
+			return dependency;
+		}
+
+		// caches compare keys by instance, so make sure all keys equal to this
+		// one end up in the same entry
+		final Key canonical = KeyRegistry.intern(key);
+		if (canonical != key) {
+			key = canonical;
+			dependency = cache.get(key);
+			if (dependency != null) {
+				if (holder != null) {
+					holder.setSlot(id, dependency);
+				}
+				return dependency;
+			}
+		}
+
+		if (key.getType() == Provider.class) {
+			// providers are created by the library rather than located
+			dependency = LocatorProvider.forKey(key);
+			cache(key, dependency, cache, holder, id);
+			return dependency;
+		}
+
+		final Cache<Key, Object> singletons = DependencyLibrary.singletons;
+		final Cache<Key, Plan> plans = DependencyLibrary.plans;
+		dependency = singletons.get(key);
+		if (dependency != null) {
+			cache(key, dependency, cache, holder, id);
+			return dependency;
+		}
+
+		final Plan planned = plans.get(key);
+		Plan plan = planned != null ? planned : Plan.EMPTY;
+		if (plan.locator != null) {
+			dependency = locate(plan.locator, key, plan.verifiedType, cache, singletons, holder, id);
+			if (dependency != null) {
+				return dependency;
+			}
+			plan = plan.miss(plan.locator);
+		}
+
+		for (Locator locator : DependencyLibrary.locators) {
+			if (plan.skips(locator)) {
+				continue;
+			}
+			dependency = locate(locator, key, null, cache, singletons, holder, id);
 			if (dependency != null) {
-				checkType(dependency, key, locator);
-				LRU.get().put(key, dependency);
+				plans.put(key, plan.answer(locator, dependency.getClass()));
 				return dependency;
 			}
+			plan = plan.miss(locator);
 		}
 
+		if (plan != planned) {
+			plans.put(key, plan);
+		}
 		throw new DependencyNotFoundException(key);
 	}
 
+	/**
+	 * Injects all {@link InstrumentationStrategy#INJECT_FIELD} and
+	 * {@link InstrumentationStrategy#LAZY_PROXY} fields of the instance,
+	 * including those declared by its superclasses, that have not yet been
+	 * injected. This is cheaper than letting each field be injected on its
+	 * first read, for example for objects that are deserialized or loaded in
+	 * bulk.
+	 *
+	 * @see InjectionPlan
+	 *
+	 * @param instance
+	 * @throws DependencyNotFoundException
+	 *             when a dependency is not found in any registered locator
+	 */
+	public static void inject(Object instance) throws DependencyNotFoundException {
+		if (instance == null) {
+			throw new IllegalArgumentException("Argument `instance` cannot be null");
+		}
+		InjectionPlan.forClass(instance.getClass()).inject(instance);
+	}
+
+	/**
+	 * @return cache holder of the current thread
+	 */
+	private static CacheHolder holder() {
+		final Reference<CacheHolder> reference = LRU.get();
+		CacheHolder holder = reference != null ? reference.get() : null;
+		if (holder == null) {
+			holder = new CacheHolder();
+			holders.put(Thread.currentThread(), holder);
+			LRU.set(new WeakReference<CacheHolder>(holder));
+		}
+		return holder;
+	}
+
+	/**
+	 * @param thread
+	 * @return {@code true} if the cache of the thread holds dependencies that
+	 *         have not been released by {@link #invalidate()}
+	 */
+	static boolean isCaching(Thread thread) {
+		final CacheHolder holder = holders.get(thread);
+		return holder != null && holder.cache != null;
+	}
+
+	/**
+	 * Returns the locator that answered the key in the current generation of
+	 * the library
+	 *
+	 * @param key
+	 *            canonical key
+	 * @return locator or {@code null} if the key has not been located
+	 */
+	static Locator getPlannedLocator(Key key) {
+		final Plan plan = plans.get(key);
+		return plan == null ? null : plan.locator;
+	}
+
+	/**
+	 * Checks whether the dependency was located with
+	 * {@link CachePolicy#SINGLETON} in the current generation of the library
+	 *
+	 * @param key
+	 *            canonical key
+	 * @param dependency
+	 * @return {@code true} if the dependency is the singleton of the key
+	 */
+	static boolean isSingleton(Key key, Object dependency) {
+		return singletons.get(key) == dependency;
+	}
+
+	/**
+	 * Asks a single locator for the dependency and caches the located
+	 * dependency according to its {@link CachePolicy}
+	 *
+	 * @param locator
+	 * @param key
+	 * @param verifiedType
+	 *            class of a dependency this locator returned for the key before
+	 *            and that passed the type check, or {@code null}
+	 * @param cache
+	 *            cache of the current thread
+	 * @param singletons
+	 * @param holder
+	 *            cache holder of the current thread or {@code null}
+	 * @param id
+	 *            id of the key or {@code -1}
+	 * @return located dependency or {@code null} if the locator could not
+	 *         locate it
+	 */
+	private static Object locate(Locator locator, Key key, Class<?> verifiedType, Cache<Key, Object> cache,
+			Cache<Key, Object> singletons, CacheHolder holder, int id) {
+		// null policy means a plain locator, its results are cached per thread
+		CachePolicy policy = null;
+		Object dependency = null;
+		if (locator instanceof ScopeAwareLocator) {
+			final Resolution resolution = ((ScopeAwareLocator) locator).resolve(key);
+			if (resolution != null) {
+				dependency = resolution.getDependency();
+				policy = resolution.getPolicy();
+			}
+		} else {
+			dependency = locator.locate(key);
+		}
+		if (dependency == null) {
+			return null;
+		}
+
+		if (dependency.getClass() != verifiedType) {
+			checkType(dependency, key, locator);
+		}
+		if (policy == CachePolicy.SINGLETON) {
+			singletons.put(key, dependency);
+			cache(key, dependency, cache, holder, id);
+		} else if (policy == null) {
+			cache(key, dependency, cache, holder, id);
+		}
+		return dependency;
+	}
+
+	/**
+	 * Puts the dependency into the cache, and into the slot of the key if the
+	 * cache is an {@link EvictingCache}
+	 *
+	 * @param key
+	 * @param dependency
+	 * @param cache
+	 * @param holder
+	 *            cache holder of the current thread or {@code null}
+	 * @param id
+	 *            id of the key or {@code -1}
+	 */
+	private static void cache(Key key, Object dependency, Cache<Key, Object> cache, CacheHolder holder, int id) {
+		cache.put(key, dependency);
+		if (holder != null) {
+			holder.setSlot(id, dependency);
+		}
+	}
+
 	/**
 	 * Sets cache provider. The cache is used in {@link #locate(Key)} before the
-	 * locators are searched.
+	 * locators are searched. The provider is asked for a cache once per
+	 * thread, to share a single cache between all threads use
+	 * {@link ResolutionContext#SHARED} instead. By default a
+	 * {@link ClockCacheProvider} is used. The provider is not used in
+	 * {@link ResolutionContext#SHARED}.
 	 *
 	 * @param cacheProvider
 	 */
 	public static void setCacheProvider(CacheProvider cacheProvider) {
 		DependencyLibrary.cacheProvider = cacheProvider;
+		invalidate();
+	}
+
+	/**
+	 * Sets the context that holds cached dependencies. By default
+	 * {@link ResolutionContext#THREAD} is used.
+	 *
+	 * @param resolutionContext
+	 */
+	public static void setResolutionContext(ResolutionContext resolutionContext) {
+		if (resolutionContext == null) {
+			throw new IllegalArgumentException("Argument `resolutionContext` cannot be null");
+		}
+		shared = resolutionContext == ResolutionContext.SHARED ? new SharedCacheProvider() : null;
+		invalidate();
 	}
 
 	/**
@@ -136,4 +582,172 @@ public class DependencyLibrary {
 					locator));
 		}
 	}
+
+	/**
+	 * Resolution plan of a key, remembers which locator answered the key, the
+	 * class of the dependency that passed the type check, and the locators
+	 * that could not locate the key. Plans are immutable so they can be shared
+	 * between threads.
+	 *
+	 * @author ivaynberg
+	 */
+	private static final class Plan {
+		static final Plan EMPTY = new Plan(null, null, new Locator[0]);
+
+		private final Locator locator;
+		private final Class<?> verifiedType;
+		private final Locator[] misses;
+
+		public Plan(Locator locator, Class<?> verifiedType, Locator[] misses) {
+			this.locator = locator;
+			this.verifiedType = verifiedType;
+			this.misses = misses;
+		}
+
+		/**
+		 * @param locator
+		 * @return {@code true} if the locator could not locate the key before
+		 */
+		public boolean skips(Locator locator) {
+			for (Locator miss : misses) {
+				if (miss == locator) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * @param locator
+		 *            locator that could not locate the key
+		 * @return plan that skips the locator
+		 */
+		public Plan miss(Locator locator) {
+			final Locator[] misses = new Locator[this.misses.length + 1];
+			System.arraycopy(this.misses, 0, misses, 0, this.misses.length);
+			misses[this.misses.length] = locator;
+			if (locator == this.locator) {
+				return new Plan(null, null, misses);
+			}
+			return new Plan(this.locator, verifiedType, misses);
+		}
+
+		/**
+		 * @param locator
+		 *            locator that located the key
+		 * @param verifiedType
+		 *            class of the located dependency
+		 * @return plan that goes to the locator first
+		 */
+		public Plan answer(Locator locator, Class<?> verifiedType) {
+			return new Plan(locator, verifiedType, misses);
+		}
+	}
+
+	/**
+	 * Holds the cache of a thread along with the generation it was created in,
+	 * and, for an {@link EvictingCache}, the cached dependencies indexed by key
+	 * id. Only the owning thread uses the cache, other threads may only
+	 * {@link #release()} it, which is why the cache and the slots are
+	 * volatile. A holder whose cache has been released or belongs to an older
+	 * generation replaces both before it serves another lookup. Entries
+	 * evicted from the cache are removed from the slots, so the slots never
+	 * hold more than the cache.
+	 */
+	private static class CacheHolder implements EvictionListener<Key, Object> {
+		private static final Object[] EMPTY = new Object[0];
+
+		private volatile Cache<Key, Object> cache;
+		private volatile Object[] slots = EMPTY;
+		private int generation = DependencyLibrary.generation.get();
+
+		/**
+		 * @return cache of the current generation
+		 */
+		@SuppressWarnings("unchecked")
+		public Cache<Key, Object> getCache() {
+			final int current = DependencyLibrary.generation.get();
+			Cache<Key, Object> cache = this.cache;
+			if (generation != current || cache == null) {
+				cache = cacheProvider.getCache();
+				if (cache instanceof EvictingCache) {
+					((EvictingCache<Key, Object>) cache).setEvictionListener(this);
+				}
+				slots = EMPTY;
+				this.cache = cache;
+				generation = current;
+			}
+			return cache;
+		}
+
+		/**
+		 * Drops the cached dependencies, called by {@link #invalidate()} from
+		 * any thread after the generation has changed
+		 */
+		public void release() {
+			cache = null;
+			slots = EMPTY;
+		}
+
+		/**
+		 * Returns the dependency kept in the slot of the key, and reports the
+		 * use to the cache
+		 *
+		 * @param key
+		 * @param id
+		 *            id of the key
+		 * @return dependency of the current generation or {@code null}
+		 */
+		@SuppressWarnings("unchecked")
+		public Object getSlot(Key key, int id) {
+			final Cache<Key, Object> cache = getCache();
+			final Object[] slots = this.slots;
+			if (id >= 0 && id < slots.length) {
+				final Object dependency = slots[id];
+				if (dependency != null) {
+					// only evicting caches have slots
+					((EvictingCache<Key, Object>) cache).touch(key);
+					return dependency;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Keeps the dependency in the slot of the key, growing the slots if
+		 * needed. Does nothing unless the cache is an {@link EvictingCache},
+		 * which is the only kind of cache known to hold the dependency.
+		 *
+		 * @param id
+		 *            id of the key or {@code -1}
+		 * @param dependency
+		 */
+		public void setSlot(int id, Object dependency) {
+			if (id < 0 || !(cache instanceof EvictingCache)) {
+				return;
+			}
+			Object[] slots = this.slots;
+			if (id >= slots.length) {
+				int length = Math.max(16, slots.length);
+				while (length <= id) {
+					length <<= 1;
+				}
+				final Object[] grown = new Object[length];
+				System.arraycopy(slots, 0, grown, 0, slots.length);
+				slots = this.slots = grown;
+			}
+			slots[id] = dependency;
+		}
+
+		/**
+		 * Removes the evicted dependency from the slot of its key
+		 */
+		public void evicted(Key key, Object dependency) {
+			final int id = KeyRegistry.findId(key);
+			final Object[] slots = this.slots;
+			if (id >= 0 && id < slots.length) {
+				slots[id] = null;
+			}
+		}
+	}
 }
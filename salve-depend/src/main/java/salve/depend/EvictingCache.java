@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+/**
+ * {@link Cache} that holds every object put into it until the object is
+ * evicted, which it reports to its {@link EvictionListener}, or the cache is
+ * cleared.
+ * <p>
+ * {@link DependencyLibrary} keeps the dependencies held by a per-thread cache
+ * of this kind in an array indexed by key id, see
+ * {@link DependencyLibrary#locate(Key, int)}. Lookups served by the array
+ * bypass {@link #get(Object)}, so they are reported through
+ * {@link #touch(Object)} to let the cache tell hot entries from cold ones.
+ * Caches that do not implement this interface are used without the array.
+ * </p>
+ * 
+ * @author ivaynberg
+ * 
+ * @param <K>
+ * @param <V>
+ */
+public interface EvictingCache<K, V> extends Cache<K, V> {
+
+	/**
+	 * Sets the listener notified when an entry is evicted to make room for a
+	 * new one. Caches that never evict entries may ignore the listener.
+	 * 
+	 * @param listener
+	 */
+	public abstract void setEvictionListener(EvictionListener<K, V> listener);
+
+	/**
+	 * Records a use of the entry of the key, as {@link #get(Object)} does, for
+	 * a value the caller has served without asking the cache
+	 * 
+	 * @param key
+	 */
+	public abstract void touch(final K key);
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Injects a dependency into a single {@link InstrumentationStrategy#INJECT_FIELD}
+ * or {@link InstrumentationStrategy#LAZY_PROXY} field. Everything that can be
+ * is computed once when the injector is created: the field is made accessible,
+ * its key is obtained from {@link KeyRegistry}, its {@link Publication} is
+ * read from the {@link Dependency} annotation and the constructor of the lazy
+ * proxy class is looked up.
+ * There is a single injector per field, shared by instrumentation and
+ * {@link InjectionPlan}s.
+ * 
+ * @author ivaynberg
+ */
+public class FieldInjector {
+	private static final ConcurrentMap<Field, FieldInjector> injectors = new ConcurrentHashMap<Field, FieldInjector>();
+
+	/**
+	 * Locks of {@link Publication#ONCE} injections, striped by field owner so
+	 * that injections into different instances rarely contend. Objects of the
+	 * application are never locked, they may use their own monitors for
+	 * something else.
+	 */
+	private static final Object[] locks = new Object[64];
+	static {
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	private final Field field;
+	private final Key key;
+	private final Publication publication;
+	/** constructor of the proxy class, {@code null} unless strategy is LAZY_PROXY */
+	private final Constructor<?> proxyConstructor;
+
+	/**
+	 * Invocation handler of a lazy proxy, locates the dependency on the first
+	 * invocation and keeps it until the {@link DependencyLibrary} is
+	 * invalidated. Methods declared by {@link Object} are delegated to the
+	 * dependency as well, so a proxy equals another proxy or the dependency
+	 * itself when their dependencies are equal.
+	 */
+	private static class LazyTarget implements InvocationHandler {
+		private final Key key;
+		private volatile Located located;
+
+		public LazyTarget(Key key) {
+			this.key = key;
+		}
+
+		/**
+		 * @return dependency of the current generation of the library
+		 */
+		private Object target() {
+			final int generation = DependencyLibrary.getGeneration();
+			Located located = this.located;
+			if (located == null || located.generation != generation) {
+				// a lookup that overlaps an invalidation is stamped with the older
+				// generation and repeated on the next invocation
+				located = new Located(DependencyLibrary.locate(key), generation);
+				this.located = located;
+			}
+			return located.target;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final Object target = target();
+			if (method.getDeclaringClass() == Object.class && method.getName().equals("equals")) {
+				return target.equals(unwrap(args[0]));
+			}
+			if (!method.isAccessible()) {
+				// methods of non-public interfaces cannot be invoked otherwise.
+				// proxies pass the same method instances on every invocation
+				method.setAccessible(true);
+			}
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		/**
+		 * @param object
+		 * @return dependency of the object if it is a lazy proxy, otherwise
+		 *         the object
+		 */
+		private static Object unwrap(Object object) {
+			if (object != null && Proxy.isProxyClass(object.getClass())) {
+				final InvocationHandler handler = Proxy.getInvocationHandler(object);
+				if (handler instanceof LazyTarget) {
+					return ((LazyTarget) handler).target();
+				}
+			}
+			return object;
+		}
+	}
+
+	/**
+	 * Dependency of a lazy proxy along with the generation of the library it
+	 * was located in
+	 */
+	private static final class Located {
+		private final Object target;
+		private final int generation;
+
+		public Located(Object target, int generation) {
+			this.target = target;
+			this.generation = generation;
+		}
+	}
+
+	private FieldInjector(Field field) {
+		final Dependency dependency = field.getAnnotation(Dependency.class);
+		if (dependency == null) {
+			throw new IllegalStateException(String.format("Field %s is not annotated with @%s", field,
+					Dependency.class.getSimpleName()));
+		}
+		publication = dependency.publication();
+		if (publication != Publication.PLAIN && !Modifier.isVolatile(field.getModifiers())) {
+			throw new IllegalStateException(String.format("Field %s must be volatile to use publication %s", field,
+					publication));
+		}
+		field.setAccessible(true);
+		this.field = field;
+		key = KeyRegistry.forField(field);
+		proxyConstructor = dependency.strategy() == InstrumentationStrategy.LAZY_PROXY ? getProxyConstructor(field)
+				: null;
+	}
+
+	private static Constructor<?> getProxyConstructor(Field field) {
+		final Class<?> type = field.getType();
+		if (!type.isInterface()) {
+			throw new IllegalStateException(String.format("Field %s must have an interface type to use strategy %s",
+					field, InstrumentationStrategy.LAZY_PROXY));
+		}
+		ClassLoader loader = type.getClassLoader();
+		if (loader == null) {
+			// interface loaded by the bootstrap class loader
+			loader = field.getDeclaringClass().getClassLoader();
+		}
+		try {
+			final Constructor<?> constructor = Proxy.getProxyClass(loader, type).getConstructor(
+					InvocationHandler.class);
+			// the proxy class of a non-public interface is not public either
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (NoSuchMethodException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Returns the injector of the specified field
+	 * 
+	 * @param field
+	 *            field annotated with {@link Dependency}
+	 * @return injector
+	 * @throws IllegalStateException
+	 *             if the field is not annotated with {@link Dependency}, if
+	 *             its publication requires a volatile field and the field is
+	 *             not volatile, or if its strategy is
+	 *             {@link InstrumentationStrategy#LAZY_PROXY} and its type is not
+	 *             an interface
+	 */
+	public static FieldInjector forField(Field field) {
+		if (field == null) {
+			throw new IllegalArgumentException("Argument `field` cannot be null");
+		}
+		FieldInjector injector = injectors.get(field);
+		if (injector == null) {
+			injector = new FieldInjector(field);
+			final FieldInjector existing = injectors.putIfAbsent(field, injector);
+			if (existing != null) {
+				injector = existing;
+			}
+		}
+		return injector;
+	}
+
+	/**
+	 * @return injected field
+	 */
+	public Field getField() {
+		return field;
+	}
+
+	/**
+	 * @return key of the injected dependency
+	 */
+	public Key getKey() {
+		return key;
+	}
+
+	/**
+	 * @return publication of the injected dependency
+	 */
+	public Publication getPublication() {
+		return publication;
+	}
+
+	/**
+	 * Injects the field if it has not yet been injected
+	 * 
+	 * @param instance
+	 *            field owner, or {@code null} if field is static
+	 * @return dependency held by the field after injection
+	 */
+	public Object inject(Object instance) {
+		try {
+			return inject(instance, field.get(instance));
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Injects the field if it has not yet been injected
+	 * 
+	 * @param instance
+	 *            field owner, or {@code null} if field is static
+	 * @param value
+	 *            current value of the field
+	 * @return dependency held by the field after injection
+	 */
+	public Object inject(Object instance, Object value) {
+		if (value != null) {
+			return value;
+		}
+		try {
+			value = proxyConstructor != null ? proxyConstructor.newInstance(new LazyTarget(key)) : DependencyLibrary
+					.locate(key);
+			if (publication == Publication.ONCE) {
+				final Object owner = instance != null ? instance : field.getDeclaringClass();
+				synchronized (locks[System.identityHashCode(owner) & (locks.length - 1)]) {
+					final Object current = field.get(instance);
+					if (current != null) {
+						return current;
+					}
+					field.set(instance, value);
+				}
+			} else {
+				// Field.set() of a volatile field is a volatile write
+				field.set(instance, value);
+			}
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		} catch (InstantiationException e) {
+			throw new RuntimeException(e);
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException(e);
+		}
+		return value;
+	}
+}
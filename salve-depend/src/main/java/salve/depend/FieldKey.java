@@ -31,6 +31,7 @@ import java.lang.reflect.Type;
 public class FieldKey extends AbstractKey implements Key {
 	private static final long serialVersionUID = 1L;
 	private final Field field;
+	private final Annotation[] annotations;
 
 	/**
 	 * Constructor
@@ -47,6 +48,7 @@ public class FieldKey extends AbstractKey implements Key {
 		} catch (Exception e) {
 			throw new RuntimeException("Could not build Key based on field: " + fieldOwner + "#" + fieldName, e);
 		}
+		annotations = field.getAnnotations();
 	}
 
 	/**
@@ -58,13 +60,14 @@ public class FieldKey extends AbstractKey implements Key {
 	public FieldKey(Field field) {
 
 		this.field = field;
+		annotations = field.getAnnotations();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public Annotation[] getAnnotations() {
-		return field.getAnnotations();
+		return annotations.clone();
 	}
 
 	/**
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Lists the {@link InstrumentationStrategy#INJECT_FIELD} and
+ * {@link InstrumentationStrategy#LAZY_PROXY} instance fields of a class and
+ * all its superclasses, so that all of them can be injected in one pass. The
+ * plan of a class is computed once and shared.
+ * 
+ * @see DependencyLibrary#inject(Object)
+ * 
+ * @author ivaynberg
+ */
+public class InjectionPlan {
+	private static final ConcurrentMap<Class<?>, InjectionPlan> plans = new ConcurrentHashMap<Class<?>, InjectionPlan>();
+
+	private final Class<?> type;
+	private final FieldInjector[] injectors;
+
+	private InjectionPlan(Class<?> type) {
+		this.type = type;
+		final List<FieldInjector> injectors = new ArrayList<FieldInjector>();
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				final Dependency dependency = field.getAnnotation(Dependency.class);
+				if (dependency == null || Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				final InstrumentationStrategy strategy = dependency.strategy();
+				if (strategy == InstrumentationStrategy.INJECT_FIELD || strategy == InstrumentationStrategy.LAZY_PROXY) {
+					injectors.add(FieldInjector.forField(field));
+				}
+			}
+		}
+		this.injectors = injectors.toArray(new FieldInjector[injectors.size()]);
+	}
+
+	/**
+	 * Returns the injection plan of the specified class
+	 * 
+	 * @param type
+	 * @return injection plan
+	 */
+	public static InjectionPlan forClass(Class<?> type) {
+		if (type == null) {
+			throw new IllegalArgumentException("Argument `type` cannot be null");
+		}
+		InjectionPlan plan = plans.get(type);
+		if (plan == null) {
+			plan = new InjectionPlan(type);
+			final InjectionPlan existing = plans.putIfAbsent(type, plan);
+			if (existing != null) {
+				plan = existing;
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * @return class this plan was computed for
+	 */
+	public Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * @return number of fields injected by this plan
+	 */
+	public int size() {
+		return injectors.length;
+	}
+
+	/**
+	 * Injects all fields that have not yet been injected
+	 * 
+	 * @param instance
+	 *            instance of the class this plan was computed for
+	 */
+	public void inject(Object instance) {
+		for (FieldInjector injector : injectors) {
+			injector.inject(instance);
+		}
+	}
+}
@@ -30,18 +30,46 @@ public enum InstrumentationStrategy {
 	 * The field is made transient and is injected on first read access. Write
 	 * access to this field is forbidden and a
 	 * {@link IllegalFieldWriteException} exception is thrown when field is
-	 * written to.
+	 * written to. How the injected dependency is published to other threads
+	 * is controlled by {@link Dependency#publication()}.
 	 */
 	INJECT_FIELD,
 
 	/**
-	 * The field is removed. Methods accessing this field will have a local
-	 * variable added that will hold the looked up dependency. Removing the
+	 * The field is removed. Every read of this field looks up the dependency,
+	 * unless the read happens inside a {@link DependencyFrame}, where each
+	 * dependency is looked up at most once per method execution. Removing the
 	 * field improves the memory footprint of the class, and since dependency
 	 * lookups are cached there should be no significant performance
 	 * degradation.
 	 * 
 	 * This is the default strategy
 	 */
-	REMOVE_FIELD;
+	REMOVE_FIELD,
+
+	/**
+	 * The field is removed and the dependency is held once per declaring
+	 * class, in a {@link DependencyHolder}, so a read costs a single load.
+	 * The holder is cleared when the {@link DependencyLibrary} is
+	 * invalidated. This strategy has the memory footprint of
+	 * {@link #REMOVE_FIELD} and the read speed of {@link #INJECT_FIELD} for
+	 * singleton dependencies, because all instances of the class and all
+	 * threads share the same dependency. Only dependencies located with
+	 * {@link CachePolicy#SINGLETON} are held, others are located on every
+	 * read like with {@link #REMOVE_FIELD}.
+	 */
+	PER_CLASS,
+
+	/**
+	 * The field is injected on first read access with a proxy that implements
+	 * the type of the field, which must be an interface. The proxy locates
+	 * the dependency on its first invocation and keeps it until the
+	 * {@link DependencyLibrary} is invalidated. Methods declared by
+	 * {@link Object} are answered by the proxy itself. This defers the
+	 * cost of dependencies that are expensive to create until they are used,
+	 * and avoids locating them at all on code paths that never call them.
+	 * Like {@link #INJECT_FIELD}, publication is controlled by
+	 * {@link Dependency#publication()}.
+	 */
+	LAZY_PROXY;
 }
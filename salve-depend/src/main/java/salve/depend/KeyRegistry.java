@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of canonical dependency keys. Every distinct key handed out by this
+ * registry is a single shared instance, which allows {@link Cache}
+ * implementations to compare keys by identity instead of by
+ * {@link Key#equals(Object)}.
+ * <p>
+ * Instrumentation should always obtain its keys from this registry, otherwise
+ * every lookup misses the cache in {@link DependencyLibrary}.
+ * </p>
+ * <p>
+ * Canonical keys can also be numbered with dense ids, see {@link #getId(Key)}.
+ * </p>
+ *
+ * @see Cache
+ * @see DependencyLibrary
+ *
+ * @author ivaynberg
+ */
+public class KeyRegistry {
+	private static final ConcurrentMap<Key, Key> keys = new ConcurrentHashMap<Key, Key>();
+	private static final ConcurrentMap<Field, Key> fieldKeys = new ConcurrentHashMap<Field, Key>();
+	private static final Map<Key, Integer> ids = new ConcurrentHashMap<Key, Integer>();
+
+	/**
+	 * Returns the canonical key for the dependency held by the specified
+	 * field
+	 *
+	 * @param field
+	 *            dependency field
+	 * @return canonical key
+	 */
+	public static Key forField(Field field) {
+		if (field == null) {
+			throw new IllegalArgumentException("Argument `field` cannot be null");
+		}
+		Key key = fieldKeys.get(field);
+		if (key == null) {
+			key = intern(new FieldKey(field));
+			final Key existing = fieldKeys.putIfAbsent(field, key);
+			if (existing != null) {
+				key = existing;
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * Returns the canonical instance of the specified key. The returned key is
+	 * equal to the specified key and the same instance is returned for all
+	 * equal keys.
+	 *
+	 * @param key
+	 * @return canonical key
+	 */
+	public static Key intern(Key key) {
+		if (key == null) {
+			throw new IllegalArgumentException("Argument `key` cannot be null");
+		}
+		final Key existing = keys.putIfAbsent(key, key);
+		return existing != null ? existing : key;
+	}
+
+	/**
+	 * Returns the id of the specified key. Ids are assigned in the order keys
+	 * are first numbered, starting with {@code 0}, and equal keys share the
+	 * same id. Instrumentation numbers the key of a dependency site once and
+	 * passes the id to {@link DependencyLibrary#locate(Key, int)}, which keeps
+	 * dependencies of each thread in an array indexed by the id.
+	 *
+	 * @param key
+	 * @return id of the key
+	 */
+	public static int getId(Key key) {
+		key = intern(key);
+		Integer id = ids.get(key);
+		if (id == null) {
+			synchronized (ids) {
+				id = ids.get(key);
+				if (id == null) {
+					id = ids.size();
+					ids.put(key, id);
+				}
+			}
+		}
+		return id;
+	}
+
+	/**
+	 * Returns the id of the specified key without numbering it
+	 *
+	 * @param key
+	 * @return id of the key or {@code -1} if the key has not been numbered
+	 */
+	static int findId(Key key) {
+		final Integer id = ids.get(key);
+		return id != null ? id : -1;
+	}
+}
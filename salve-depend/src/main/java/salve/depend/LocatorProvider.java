@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link Provider} that is bound to the locator that answers its key. The
+ * binding is taken from the resolution plan of the key and is renewed when
+ * the {@link DependencyLibrary} is invalidated. There is a single provider
+ * per key.
+ * 
+ * @author ivaynberg
+ * 
+ * @param <T>
+ *            type of provided dependency
+ */
+class LocatorProvider<T> implements Provider<T> {
+	private static final ConcurrentMap<Key, LocatorProvider<?>> providers = new ConcurrentHashMap<Key, LocatorProvider<?>>();
+
+	/**
+	 * Locator that answered the key, valid for a single generation of the
+	 * library
+	 */
+	private static final class Binding {
+		private final Locator locator;
+		private final Class<?> verifiedType;
+		private final int generation;
+
+		public Binding(Locator locator, Class<?> verifiedType, int generation) {
+			this.locator = locator;
+			this.verifiedType = verifiedType;
+			this.generation = generation;
+		}
+	}
+
+	private final Key key;
+	private volatile Binding binding;
+
+	private LocatorProvider(Key key) {
+		this.key = key;
+	}
+
+	/**
+	 * Returns the provider for a {@link Provider} dependency
+	 * 
+	 * @param providerKey
+	 *            canonical key of the {@link Provider} dependency
+	 * @return provider
+	 */
+	static LocatorProvider<?> forKey(Key providerKey) {
+		LocatorProvider<?> provider = providers.get(providerKey);
+		if (provider == null) {
+			provider = new LocatorProvider<Object>(KeyRegistry.intern(new ProvidedKey(providerKey)));
+			final LocatorProvider<?> existing = providers.putIfAbsent(providerKey, provider);
+			if (existing != null) {
+				provider = existing;
+			}
+		}
+		return provider;
+	}
+
+	/**
+	 * Drops the bindings of all providers so they do not keep locators
+	 * reachable after they are unregistered, called when
+	 * {@link DependencyLibrary} is invalidated
+	 */
+	static void clearAll() {
+		for (LocatorProvider<?> provider : providers.values()) {
+			provider.binding = null;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	public T get() throws DependencyNotFoundException {
+		final Binding binding = this.binding;
+		if (binding != null && binding.generation == DependencyLibrary.getGeneration()) {
+			final Object dependency = binding.locator.locate(key);
+			if (dependency != null
+					&& (dependency.getClass() == binding.verifiedType || key.getType().isInstance(dependency))) {
+				return (T) dependency;
+			}
+		}
+
+		// bind to the locator that answers the key in the current generation,
+		// the library also reports dependencies of invalid type
+		final int generation = DependencyLibrary.getGeneration();
+		final Object dependency = DependencyLibrary.locate(key);
+		final Locator locator = DependencyLibrary.getPlannedLocator(key);
+		this.binding = locator == null ? null : new Binding(locator, dependency.getClass(), generation);
+		return (T) dependency;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("[%s key=%s]", getClass().getSimpleName(), key);
+	}
+}
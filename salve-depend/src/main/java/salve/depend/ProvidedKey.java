@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Key of the dependency provided by a {@link Provider}, derived from the key of
+ * the provider by taking its type argument
+ * 
+ * @author ivaynberg
+ */
+class ProvidedKey extends AbstractKey implements Key {
+	private final Class<?> type;
+	private final Type genericType;
+	private final Annotation[] annotations;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param providerKey
+	 *            key of a {@link Provider} dependency
+	 */
+	public ProvidedKey(Key providerKey) {
+		final Type providerType = providerKey.getGenericType();
+		if (!(providerType instanceof ParameterizedType)) {
+			throw new IllegalStateException(String.format("Type argument of %s must be specified. Key: %s",
+					Provider.class.getName(), providerKey));
+		}
+		genericType = ((ParameterizedType) providerType).getActualTypeArguments()[0];
+		if (genericType instanceof Class<?>) {
+			type = (Class<?>) genericType;
+		} else if (genericType instanceof ParameterizedType) {
+			type = (Class<?>) ((ParameterizedType) genericType).getRawType();
+		} else {
+			throw new IllegalStateException(String.format("Type argument of %s must be a class. Key: %s",
+					Provider.class.getName(), providerKey));
+		}
+		annotations = providerKey.getAnnotations();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Annotation[] getAnnotations() {
+		return annotations.clone();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Type getGenericType() {
+		return genericType;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Class<?> getType() {
+		return type;
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+/**
+ * Provides instances of a dependency. A {@link Dependency} field of this type,
+ * for example {@code @Dependency Provider<Session> session}, holds a provider
+ * of the dependency identified by the type argument and the annotations of
+ * the field, instead of the dependency itself.
+ * <p>
+ * Providers are meant for dependencies that cannot be cached, such as request
+ * or transaction scoped beans. Every call to {@link #get()} goes straight to
+ * the locator that answers the dependency, bypassing the caches and the walk
+ * over all registered locators.
+ * </p>
+ * 
+ * @see DependencyLibrary#locate(Key)
+ * 
+ * @author ivaynberg
+ * 
+ * @param <T>
+ *            type of provided dependency
+ */
+public interface Provider<T> {
+	/**
+	 * @return dependency
+	 * @throws DependencyNotFoundException
+	 *             when dependency is not found in any registered locator
+	 */
+	T get() throws DependencyNotFoundException;
+}
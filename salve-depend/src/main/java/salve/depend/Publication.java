@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+/**
+ * Controls how a dependency injected into an
+ * {@link InstrumentationStrategy#INJECT_FIELD} field is published to other
+ * threads that read the same field.
+ * 
+ * @see Dependency#publication()
+ * @see FieldInjector
+ * 
+ * @author ivaynberg
+ * 
+ */
+public enum Publication {
+	/**
+	 * The dependency is written with a plain write. Threads that read the
+	 * uninjected field at the same time may each locate and write their own
+	 * dependency. This is fine for objects that are not shared between
+	 * threads.
+	 * 
+	 * This is the default publication
+	 */
+	PLAIN,
+
+	/**
+	 * The dependency is written with a volatile write and read with a volatile
+	 * read, so a thread that sees the dependency also sees its fully
+	 * constructed state. Threads that read the uninjected field at the same
+	 * time may still each write their own dependency. The field must be
+	 * declared {@code volatile}.
+	 */
+	ORDERED,
+
+	/**
+	 * Like {@link #ORDERED}, but only the first thread to inject the field
+	 * writes it, other threads discard the dependency they located and use the
+	 * one that was written. All threads therefore see the same dependency
+	 * instance. The write holds a lock private to Salve, chosen by the
+	 * instance that owns the field, so injections of different instances
+	 * rarely contend and the monitors of the application are never used. The
+	 * field must be declared {@code volatile}.
+	 */
+	ONCE;
+}
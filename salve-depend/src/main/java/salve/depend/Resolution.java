@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+/**
+ * Result of a {@link ScopeAwareLocator}: the located dependency along with
+ * the policy that governs how it may be cached
+ * 
+ * @see ScopeAwareLocator
+ * 
+ * @author ivaynberg
+ */
+public class Resolution {
+	private final Object dependency;
+	private final CachePolicy policy;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param dependency
+	 *            located dependency
+	 * @param policy
+	 *            caching policy of the dependency
+	 */
+	public Resolution(Object dependency, CachePolicy policy) {
+		if (dependency == null) {
+			throw new IllegalArgumentException("Argument `dependency` cannot be null");
+		}
+		if (policy == null) {
+			throw new IllegalArgumentException("Argument `policy` cannot be null");
+		}
+		this.dependency = dependency;
+		this.policy = policy;
+	}
+
+	/**
+	 * @return located dependency
+	 */
+	public Object getDependency() {
+		return dependency;
+	}
+
+	/**
+	 * @return caching policy of the dependency
+	 */
+	public CachePolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "[" + getClass().getSimpleName() + " dependency=" + dependency + " policy=" + policy + "]";
+	}
+}
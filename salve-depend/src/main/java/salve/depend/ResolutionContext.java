@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import salve.depend.cache.SharedCacheProvider;
+
+/**
+ * Describes where {@link DependencyLibrary} keeps the dependencies it caches.
+ * This is the setting that decides whether dependencies are cached per thread
+ * or shared by all threads, use it rather than a {@link CacheProvider} that
+ * returns the same cache to every thread.
+ * 
+ * @see DependencyLibrary#setResolutionContext(ResolutionContext)
+ * 
+ * @author ivaynberg
+ */
+public enum ResolutionContext {
+	/**
+	 * Every thread has its own cache, created by the {@link CacheProvider} the
+	 * first time the thread locates a dependency. This is the default and
+	 * suits applications that serve requests from a pool of long lived
+	 * threads.
+	 */
+	THREAD,
+
+	/**
+	 * All threads share the cache of a single {@link SharedCacheProvider} and
+	 * no thread local state is kept, the {@link CacheProvider} set on the
+	 * library is not used. Memory does not grow with the number of threads and
+	 * a new thread is served from the cache right away, which suits
+	 * applications that run each request on a new thread, such as a virtual
+	 * thread, or that hop between threads. Only use this context if all
+	 * dependencies returned by registered locators are safe to share between
+	 * threads.
+	 */
+	SHARED;
+}
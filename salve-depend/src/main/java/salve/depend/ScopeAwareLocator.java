@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+/**
+ * {@link Locator} that also tells {@link DependencyLibrary} how the located
+ * dependencies may be cached, usually based on the scope the dependency has
+ * in its container.
+ * <p>
+ * Dependencies returned by plain {@link Locator}s are kept in the cache of
+ * the thread that located them until they are evicted.
+ * </p>
+ * 
+ * @see CachePolicy
+ * @see DependencyLibrary
+ * 
+ * @author ivaynberg
+ */
+public interface ScopeAwareLocator extends Locator {
+	/**
+	 * Locate dependency specified by key
+	 * 
+	 * @param key
+	 *            dependency key
+	 * @return found dependency along with its caching policy, or null
+	 */
+	Resolution resolve(Key key);
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend.cache;
+
+import java.util.Arrays;
+
+import salve.depend.EvictingCache;
+import salve.depend.EvictionListener;
+import salve.depend.KeyRegistry;
+
+/**
+ * Fixed capacity {@literal key->dependency} cache with CLOCK (second chance)
+ * eviction. Entries are stored in preallocated arrays and indexed by an open
+ * addressing table, so {@link #get(Object)} and {@link #put(Object, Object)}
+ * do not allocate. Like {@link Lru3Cache} this cache compares keys by
+ * instance equality, which is OK because instrumentation obtains its keys from
+ * {@link KeyRegistry}.
+ * <p>
+ * This cache is not thread safe, it is meant to be used as a per-thread
+ * cache.
+ * </p>
+ *
+ * @see ClockCacheProvider
+ *
+ * @author ivaynberg
+ *
+ * @param <K>
+ * @param <V>
+ */
+@SuppressWarnings("unchecked")
+public class ClockCache<K, V> implements EvictingCache<K, V> {
+	private final int capacity;
+	private final K[] keys;
+	private final V[] values;
+	private final boolean[] referenced;
+
+	/**
+	 * Open addressing table with linear probing. Each slot holds
+	 * {@code index+1} of the entry whose key hashes into it, or {@code 0} if
+	 * the slot is empty. The table is at least twice the capacity.
+	 */
+	private final int[] slots;
+	private final int mask;
+
+	private int size;
+	private int hand;
+	private EvictionListener<K, V> listener;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity
+	 *            maximum number of entries held by the cache
+	 */
+	public ClockCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Argument `capacity` must be greater then zero");
+		}
+		this.capacity = capacity;
+		keys = (K[]) new Object[capacity];
+		values = (V[]) new Object[capacity];
+		referenced = new boolean[capacity];
+
+		int tableSize = 2;
+		while (tableSize < capacity * 2) {
+			tableSize <<= 1;
+		}
+		slots = new int[tableSize];
+		mask = tableSize - 1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void clear() {
+		Arrays.fill(keys, null);
+		Arrays.fill(values, null);
+		Arrays.fill(referenced, false);
+		Arrays.fill(slots, 0);
+		size = 0;
+		hand = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public V get(final K key) {
+		final int index = indexOf(key);
+		if (index < 0) {
+			misses++;
+			return null;
+		}
+		hits++;
+		referenced[index] = true;
+		return values[index];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void put(final K key, final V value) {
+		int index = indexOf(key);
+		if (index >= 0) {
+			values[index] = value;
+			referenced[index] = true;
+			return;
+		}
+
+		if (size < capacity) {
+			index = size++;
+		} else {
+			index = evict();
+		}
+		keys[index] = key;
+		values[index] = value;
+		referenced[index] = false;
+
+		int slot = hash(key) & mask;
+		while (slots[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		slots[slot] = index + 1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setEvictionListener(EvictionListener<K, V> listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Marks the entry as referenced and counts a hit, like a
+	 * {@link #get(Object)} that finds the key
+	 */
+	public void touch(final K key) {
+		final int index = indexOf(key);
+		if (index >= 0) {
+			hits++;
+			referenced[index] = true;
+		}
+	}
+
+	/**
+	 * @return maximum number of entries held by the cache
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return number of entries held by the cache
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return number of times {@link #get(Object)} found the key or
+	 *         {@link #touch(Object)} was called for a cached key
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of times {@link #get(Object)} did not find the key
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return number of entries evicted to make room for new ones
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("[%s capacity=%d size=%d hits=%d misses=%d evictions=%d]", getClass().getSimpleName(),
+				capacity, size, hits, misses, evictions);
+	}
+
+	/**
+	 * Looks up index of key in the entry arrays
+	 *
+	 * @param key
+	 * @return index of the key or -1 if key is not in the cache
+	 */
+	int indexOf(final Object key) {
+		int slot = hash(key) & mask;
+		while (true) {
+			final int entry = slots[slot];
+			if (entry == 0) {
+				return -1;
+			} else if (keys[entry - 1] == key) {
+				return entry - 1;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Advances the clock hand until it finds an entry that has not been
+	 * referenced since the last pass, and removes that entry
+	 *
+	 * @return index of the freed entry
+	 */
+	private int evict() {
+		while (referenced[hand]) {
+			referenced[hand] = false;
+			hand = (hand + 1) % capacity;
+		}
+		final int victim = hand;
+		hand = (hand + 1) % capacity;
+
+		final K key = keys[victim];
+		final V value = values[victim];
+		unlink(key);
+		keys[victim] = null;
+		values[victim] = null;
+		evictions++;
+		if (listener != null) {
+			listener.evicted(key, value);
+		}
+		return victim;
+	}
+
+	/**
+	 * Removes key from the open addressing table, shifting back the entries
+	 * that follow it so no lookup chain is broken
+	 *
+	 * @param key
+	 */
+	private void unlink(final Object key) {
+		int slot = hash(key) & mask;
+		while (keys[slots[slot] - 1] != key) {
+			slot = (slot + 1) & mask;
+		}
+
+		int next = slot;
+		while (true) {
+			next = (next + 1) & mask;
+			if (slots[next] == 0) {
+				break;
+			}
+			final int home = hash(keys[slots[next] - 1]) & mask;
+			// entry at next can fill the hole unless its home lies cyclically
+			// within (slot, next]
+			final boolean stays = slot <= next ? (slot < home && home <= next) : (slot < home || home <= next);
+			if (!stays) {
+				slots[slot] = slots[next];
+				slot = next;
+			}
+		}
+		slots[slot] = 0;
+	}
+
+	private static int hash(Object key) {
+		final int h = System.identityHashCode(key);
+		// spread bits, identity hash codes tend to cluster in lower bits
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend.cache;
+
+import salve.depend.Cache;
+import salve.depend.CacheProvider;
+import salve.depend.DependencyLibrary;
+import salve.depend.Key;
+
+/**
+ * Provides a {@link ClockCache} of configurable capacity per thread. This is
+ * the default provider used by {@link DependencyLibrary}.
+ * <p>
+ * Example: {@code DependencyLibrary.setCacheProvider(new ClockCacheProvider(64));}
+ * </p>
+ *
+ * @see DependencyLibrary#setCacheProvider(CacheProvider)
+ *
+ * @author ivaynberg
+ */
+public class ClockCacheProvider implements CacheProvider {
+	/**
+	 * Default capacity, large enough for the dependencies of a typical request
+	 */
+	public static final int DEFAULT_CAPACITY = 32;
+
+	private final int capacity;
+
+	/**
+	 * Constructor that uses {@link #DEFAULT_CAPACITY}
+	 */
+	public ClockCacheProvider() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity
+	 *            capacity of each created cache
+	 */
+	public ClockCacheProvider(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Argument `capacity` must be greater then zero");
+		}
+		this.capacity = capacity;
+	}
+
+	public Cache<Key, Object> getCache() {
+		return new ClockCache<Key, Object>(capacity);
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend.cache;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import salve.depend.EvictingCache;
+import salve.depend.EvictionListener;
+import salve.depend.KeyRegistry;
+
+/**
+ * Unbounded cache that can be shared by all threads. Reads are lock-free,
+ * writes are serialized. Like {@link Lru3Cache} this cache compares keys by
+ * instance equality, which is OK because instrumentation obtains its keys from
+ * {@link KeyRegistry}.
+ *
+ * @see SharedCacheProvider
+ *
+ * @author ivaynberg
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class ConcurrentCache<K, V> implements EvictingCache<K, V> {
+	private static final int INITIAL_CAPACITY = 64;
+
+	private static class Entry<K, V> {
+		final K key;
+		final V value;
+
+		Entry(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/** open addressing table with linear probing, capacity is a power of two */
+	private volatile AtomicReferenceArray<Entry<K, V>> table = new AtomicReferenceArray<Entry<K, V>>(INITIAL_CAPACITY);
+	private int size;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized void clear() {
+		table = new AtomicReferenceArray<Entry<K, V>>(INITIAL_CAPACITY);
+		size = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public V get(final K key) {
+		final AtomicReferenceArray<Entry<K, V>> table = this.table;
+		final int mask = table.length() - 1;
+		int index = hash(key) & mask;
+		for (int probe = 0; probe <= mask; probe++) {
+			final Entry<K, V> entry = table.get(index);
+			if (entry == null) {
+				return null;
+			} else if (entry.key == key) {
+				return entry.value;
+			}
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized void put(final K key, final V value) {
+		if ((size + 1) * 2 > table.length()) {
+			final AtomicReferenceArray<Entry<K, V>> old = table;
+			final AtomicReferenceArray<Entry<K, V>> resized = new AtomicReferenceArray<Entry<K, V>>(old.length() * 2);
+			for (int i = 0; i < old.length(); i++) {
+				final Entry<K, V> entry = old.get(i);
+				if (entry != null) {
+					insert(resized, entry);
+				}
+			}
+			table = resized;
+		}
+		if (insert(table, new Entry<K, V>(key, value))) {
+			size++;
+		}
+	}
+
+	/**
+	 * This cache never evicts entries, the listener is ignored
+	 */
+	public void setEvictionListener(EvictionListener<K, V> listener) {
+	}
+
+	/**
+	 * This cache does not track use of its entries
+	 */
+	public void touch(final K key) {
+	}
+
+	/**
+	 * @return number of cached entries
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Inserts entry into the table, replacing any entry with the same key
+	 *
+	 * @param table
+	 * @param entry
+	 * @return {@code true} if a new slot was used, {@code false} if an existing
+	 *         entry was replaced
+	 */
+	private static <K, V> boolean insert(AtomicReferenceArray<Entry<K, V>> table, Entry<K, V> entry) {
+		final int mask = table.length() - 1;
+		int index = hash(entry.key) & mask;
+		while (true) {
+			final Entry<K, V> existing = table.get(index);
+			if (existing == null) {
+				table.set(index, entry);
+				return true;
+			} else if (existing.key == entry.key) {
+				table.set(index, entry);
+				return false;
+			}
+			index = (index + 1) & mask;
+		}
+	}
+
+	private static int hash(Object key) {
+		final int h = System.identityHashCode(key);
+		// spread bits, identity hash codes tend to cluster in lower bits
+		return h ^ (h >>> 16);
+	}
+}
@@ -16,22 +16,24 @@
  */
 package salve.depend.cache;
 
-import salve.depend.Cache;
+import salve.depend.EvictingCache;
+import salve.depend.EvictionListener;
 import salve.depend.Key;
+import salve.depend.KeyRegistry;
 
 /**
  * Small three item LRU cache for {@literal key->dependency}. This cache
- * compares by instance equality of the key, which should be OK because most
- * keys are created as {@code private static final} constants by
- * instrumentation.
+ * compares by instance equality of the key, which is OK because
+ * instrumentation obtains its keys from {@link KeyRegistry}.
  * 
  * @author ivaynberg
  * 
  */
 @SuppressWarnings("unchecked")
-public class Lru3Cache<K, V> implements Cache<K, V> {
+public class Lru3Cache<K, V> implements EvictingCache<K, V> {
 	private final K[] keys = (K[]) new Object[3];
 	private final V[] values = (V[]) new Object[3];
+	private EvictionListener<K, V> listener;
 
 	/*
 	 * (non-Javadoc)
@@ -74,10 +76,34 @@ public class Lru3Cache<K, V> implements Cache<K, V> {
 	 * @see salve.depend.Cache#put(K, V)
 	 */
 	public void put(final K key, final V value) {
+		final K evictedKey = keys[2];
+		final V evictedValue = values[2];
 		swap(1, 2);
 		swap(1, 0);
 		keys[0] = key;
 		values[0] = value;
+		if (evictedKey != null && listener != null) {
+			listener.evicted(evictedKey, evictedValue);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see salve.depend.EvictingCache#setEvictionListener(salve.depend.EvictionListener)
+	 */
+	public void setEvictionListener(EvictionListener<K, V> listener) {
+		this.listener = listener;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see salve.depend.EvictingCache#touch(K)
+	 */
+	public void touch(final K key) {
+		// moves the key to the first place
+		get(key);
 	}
 
 	/**
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend.cache;
+
+import salve.depend.Cache;
+import salve.depend.CacheProvider;
+import salve.depend.DependencyLibrary;
+import salve.depend.Key;
+import salve.depend.ResolutionContext;
+
+/**
+ * Provides a single {@link ConcurrentCache} shared by all threads, so a
+ * dependency located by one thread is served from the cache to every other
+ * thread. Only use this provider if all dependencies returned by registered
+ * locators are safe to share between threads.
+ * <p>
+ * This provider backs {@link ResolutionContext#SHARED}, which is the preferred
+ * way to share cached dependencies. Set as the cache provider of
+ * {@link ResolutionContext#THREAD}, every thread still keeps thread local
+ * state that points to the shared cache.
+ * </p>
+ * <p>
+ * The cache is replaced with an empty one in every generation of
+ * {@link DependencyLibrary}, the first thread to ask for the cache in a new
+ * generation replaces it for all threads.
+ * </p>
+ * <p>
+ * Example: {@code DependencyLibrary.setCacheProvider(new SharedCacheProvider());}
+ * </p>
+ *
+ * @see DependencyLibrary#setResolutionContext(ResolutionContext)
+ * @see DependencyLibrary#setCacheProvider(CacheProvider)
+ *
+ * @author ivaynberg
+ */
+public class SharedCacheProvider implements CacheProvider {
+	private volatile Generation current = new Generation(DependencyLibrary.getGeneration());
+
+	public Cache<Key, Object> getCache() {
+		final int generation = DependencyLibrary.getGeneration();
+		Generation current = this.current;
+		// only move forward, a thread that read an older generation is served
+		// the newer cache and asks again on its next lookup
+		if (generation - current.generation > 0) {
+			synchronized (this) {
+				current = this.current;
+				if (generation - current.generation > 0) {
+					current = this.current = new Generation(generation);
+				}
+			}
+		}
+		return current.cache;
+	}
+
+	/**
+	 * Cache of a single generation of the library
+	 */
+	private static final class Generation {
+		private final int generation;
+		private final ConcurrentCache<Key, Object> cache = new ConcurrentCache<Key, Object>();
+
+		public Generation(int generation) {
+			this.generation = generation;
+		}
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AbstractKeyTest extends Assert {
+	private static class Holder {
+		@SuppressWarnings("unused")
+		@Dependency
+		private transient Runnable first;
+
+		@SuppressWarnings("unused")
+		@Dependency
+		private transient Runnable second;
+
+		@SuppressWarnings("unused")
+		@Dependency(strategy = InstrumentationStrategy.INJECT_FIELD)
+		private Runnable third;
+	}
+
+	private static class CountingKey extends AbstractKey {
+		private final Key delegate;
+		private int count;
+
+		public CountingKey(Key delegate) {
+			this.delegate = delegate;
+		}
+
+		public Annotation[] getAnnotations() {
+			count++;
+			return delegate.getAnnotations();
+		}
+
+		public Type getGenericType() {
+			return delegate.getGenericType();
+		}
+
+		public Class<?> getType() {
+			return delegate.getType();
+		}
+	}
+
+	private static class SerializableKey extends AbstractKey implements Serializable {
+		private static final long serialVersionUID = 1L;
+		private final Annotation[] annotations;
+
+		public SerializableKey(Annotation[] annotations) {
+			this.annotations = annotations;
+		}
+
+		public Annotation[] getAnnotations() {
+			return annotations;
+		}
+
+		public Type getGenericType() {
+			return Runnable.class;
+		}
+
+		public Class<?> getType() {
+			return Runnable.class;
+		}
+	}
+
+	@Test
+	public void testEquality() {
+		Key first = new FieldKey(Holder.class, "first");
+		Key second = new FieldKey(Holder.class, "second");
+		Key third = new FieldKey(Holder.class, "third");
+
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+		assertFalse(first.equals(third));
+		assertFalse(first.equals(new TestKey(Runnable.class)));
+		assertEquals(new TestKey(Runnable.class, first.getAnnotations()), first);
+	}
+
+	@Test
+	public void testFingerprintComputedOnce() {
+		CountingKey key = new CountingKey(new FieldKey(Holder.class, "first"));
+		Key other = new FieldKey(Holder.class, "second");
+		for (int i = 0; i < 10; i++) {
+			key.hashCode();
+			assertTrue(key.equals(other));
+		}
+		assertEquals(1, key.count);
+	}
+
+	@Test
+	public void testAnnotationsCannotBeModified() {
+		Key key = new FieldKey(Holder.class, "first");
+		Key other = new FieldKey(Holder.class, "second");
+		final int hash = key.hashCode();
+
+		key.getAnnotations()[0] = null;
+
+		assertNotNull(key.getAnnotations()[0]);
+		assertEquals(hash, key.hashCode());
+		assertEquals(key, other);
+	}
+
+	@Test
+	public void testSerializationAfterHashing() throws Exception {
+		SerializableKey key = new SerializableKey(new FieldKey(Holder.class, "first").getAnnotations());
+		final int hash = key.hashCode();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(key);
+		out.close();
+		Object copy = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+		assertEquals(key, copy);
+		assertEquals(hash, copy.hashCode());
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DependencyHolderTest extends Assert {
+	private static class Bean {
+		@Dependency(strategy = InstrumentationStrategy.PER_CLASS)
+		transient Runnable shared;
+	}
+
+	private static class PolicyLocator implements ScopeAwareLocator {
+		private final CachePolicy policy;
+		int count;
+
+		public PolicyLocator(CachePolicy policy) {
+			this.policy = policy;
+		}
+
+		public Object locate(Key key) {
+			count++;
+			return new Runnable() {
+				public void run() {
+				}
+			};
+		}
+
+		public Resolution resolve(Key key) {
+			return new Resolution(locate(key), policy);
+		}
+	}
+
+	@Before
+	public void init() {
+		DependencyLibrary.clear();
+	}
+
+	@After
+	public void destroy() {
+		DependencyLibrary.clear();
+	}
+
+	@Test
+	public void testHolderIsClearedOnInvalidate() throws Exception {
+		PolicyLocator locator = new PolicyLocator(CachePolicy.SINGLETON);
+		DependencyLibrary.addLocator(locator);
+		DependencyHolder holder = DependencyHolder.forField(Bean.class.getDeclaredField("shared"));
+		assertSame(holder, DependencyHolder.forField(Bean.class.getDeclaredField("shared")));
+
+		Object dependency = holder.get();
+		assertSame(dependency, holder.get());
+		assertEquals(1, locator.count);
+
+		DependencyLibrary.invalidate();
+		assertNotSame(dependency, holder.get());
+		assertEquals(2, locator.count);
+	}
+
+	@Test
+	public void testHolderOnlyHoldsSingletons() throws Exception {
+		PolicyLocator locator = new PolicyLocator(CachePolicy.SCOPED);
+		DependencyLibrary.addLocator(locator);
+		DependencyHolder holder = DependencyHolder.forField(Bean.class.getDeclaredField("shared"));
+
+		// scoped dependencies are located on every read
+		assertNotSame(holder.get(), holder.get());
+		assertEquals(2, locator.count);
+	}
+}
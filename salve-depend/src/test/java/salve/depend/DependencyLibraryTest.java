@@ -0,0 +1,460 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import java.lang.annotation.Documented;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import salve.depend.cache.ClockCacheProvider;
+import salve.depend.cache.Lru3Cache;
+import salve.depend.cache.NoopCacheProvider;
+import salve.depend.cache.SharedCacheProvider;
+
+public class DependencyLibraryTest extends Assert {
+	private static final Key KEY = KeyRegistry.intern(new TestKey(Runnable.class));
+
+	private static class CountingLocator implements Locator {
+		private final Object dependency;
+		int count;
+
+		public CountingLocator(Object dependency) {
+			this.dependency = dependency;
+		}
+
+		public Object locate(Key key) {
+			count++;
+			return dependency;
+		}
+	}
+
+	private static class PolicyLocator extends CountingLocator implements ScopeAwareLocator {
+		private final CachePolicy policy;
+
+		public PolicyLocator(Object dependency, CachePolicy policy) {
+			super(dependency);
+			this.policy = policy;
+		}
+
+		public Resolution resolve(Key key) {
+			return new Resolution(locate(key), policy);
+		}
+	}
+
+	private static class LocatingThread extends Thread {
+		private final Object lock = new Object();
+		private boolean requested;
+		private Object located;
+
+		@Override
+		public void run() {
+			try {
+				for (int i = 0; i < 2; i++) {
+					synchronized (lock) {
+						while (!requested) {
+							lock.wait();
+						}
+						located = DependencyLibrary.locate(KEY);
+						requested = false;
+						lock.notifyAll();
+					}
+				}
+			} catch (InterruptedException e) {
+				// exit
+			}
+		}
+
+		public Object locate() throws InterruptedException {
+			synchronized (lock) {
+				requested = true;
+				lock.notifyAll();
+				while (requested) {
+					lock.wait();
+				}
+				final Object located = this.located;
+				this.located = null;
+				return located;
+			}
+		}
+	}
+
+	private static class BaseBean {
+		@Dependency(strategy = InstrumentationStrategy.INJECT_FIELD)
+		Runnable base;
+	}
+
+	private static class InjectedBean extends BaseBean {
+		@Dependency(strategy = InstrumentationStrategy.INJECT_FIELD)
+		Runnable injected;
+
+		@Dependency
+		transient Runnable removed;
+	}
+
+	private static class ProviderBean {
+		@Dependency
+		transient Provider<Runnable> provider;
+	}
+
+	private final Runnable dependency = new Runnable() {
+		public void run() {
+		}
+	};
+
+	private CountingLocator locator;
+
+	@Before
+	public void init() {
+		DependencyLibrary.clear();
+		DependencyLibrary.setCacheProvider(new CacheProvider() {
+			public Cache<Key, Object> getCache() {
+				return new Lru3Cache<Key, Object>();
+			}
+		});
+		locator = new CountingLocator(dependency);
+		DependencyLibrary.addLocator(locator);
+	}
+
+	@After
+	public void destroy() {
+		DependencyLibrary.setResolutionContext(ResolutionContext.THREAD);
+		DependencyLibrary.clear();
+	}
+
+	@Test
+	public void testLocateIsCached() {
+		assertSame(dependency, DependencyLibrary.locate(KEY));
+		assertSame(dependency, DependencyLibrary.locate(KEY));
+		assertEquals(1, locator.count);
+	}
+
+	@Test
+	public void testLocateWithEqualKeyIsCached() {
+		assertSame(dependency, DependencyLibrary.locate(new TestKey(Runnable.class)));
+		assertSame(dependency, DependencyLibrary.locate(new TestKey(Runnable.class)));
+		assertEquals(1, locator.count);
+	}
+
+	@Test
+	public void testLocateById() {
+		final int id = KeyRegistry.getId(KEY);
+		assertSame(dependency, DependencyLibrary.locate(KEY, id));
+		assertSame(dependency, DependencyLibrary.locate(KEY, id));
+		assertEquals(1, locator.count);
+
+		DependencyLibrary.invalidate();
+		assertSame(dependency, DependencyLibrary.locate(KEY, id));
+		assertEquals(2, locator.count);
+
+		// dependencies the cache does not hold are not kept by id either
+		DependencyLibrary.setCacheProvider(new NoopCacheProvider());
+		DependencyLibrary.locate(KEY, id);
+		DependencyLibrary.locate(KEY, id);
+		assertEquals(4, locator.count);
+	}
+
+	@Test
+	public void testLocateByIdKeepsCacheCapacity() {
+		final Key other = KeyRegistry.intern(new TestKey(Object.class));
+		final int id = KeyRegistry.getId(KEY);
+		final int otherId = KeyRegistry.getId(other);
+		DependencyLibrary.setCacheProvider(new ClockCacheProvider(1));
+
+		DependencyLibrary.locate(KEY, id);
+		DependencyLibrary.locate(KEY, id);
+		assertEquals(1, locator.count);
+
+		// locating the other key evicts the first one, along with its slot
+		DependencyLibrary.locate(other, otherId);
+		DependencyLibrary.locate(KEY, id);
+		assertEquals(3, locator.count);
+		DependencyLibrary.locate(KEY, id);
+		assertEquals(3, locator.count);
+	}
+
+	@Test
+	public void testLocateByIdReportsHitsToCache() {
+		final Key other = KeyRegistry.intern(new TestKey(Object.class));
+		// any annotation makes a key distinct from the others
+		final Key third = KeyRegistry.intern(new TestKey(Object.class, Documented.class.getAnnotations()));
+		final int id = KeyRegistry.getId(KEY);
+		DependencyLibrary.setCacheProvider(new ClockCacheProvider(2));
+
+		DependencyLibrary.locate(KEY, id);
+		DependencyLibrary.locate(other, KeyRegistry.getId(other));
+		// served by the slot, but still marks the entry as used
+		DependencyLibrary.locate(KEY, id);
+		assertEquals(2, locator.count);
+
+		// the clock evicts the entry that was not used since it was added
+		DependencyLibrary.locate(third, KeyRegistry.getId(third));
+		DependencyLibrary.locate(KEY, id);
+		assertEquals(3, locator.count);
+	}
+
+	@Test
+	public void testLocateSeveral() {
+		final Key invalid = KeyRegistry.intern(new TestKey(String.class));
+		final Key[] keys = { KEY, invalid };
+		final int[] ids = { KeyRegistry.getId(KEY), KeyRegistry.getId(invalid) };
+		final Object[] dependencies = new Object[2];
+
+		// dependencies that cannot be located are left for the reads to report
+		DependencyLibrary.locate(keys, ids, dependencies);
+		assertSame(dependency, dependencies[0]);
+		assertNull(dependencies[1]);
+
+		DependencyLibrary.locate(keys, ids, dependencies);
+		assertSame(dependency, dependencies[0]);
+		assertEquals(3, locator.count);
+	}
+
+	@Test
+	public void testInvalidateDiscardsCachesOfOtherThreads() throws Exception {
+		LocatingThread thread = new LocatingThread();
+		thread.start();
+
+		assertSame(dependency, thread.locate());
+		assertEquals(1, locator.count);
+
+		DependencyLibrary.invalidate();
+
+		assertSame(dependency, thread.locate());
+		assertEquals(2, locator.count);
+		thread.join();
+	}
+
+	@Test
+	public void testInvalidateReleasesCachesOfOtherThreads() throws Exception {
+		DependencyLibrary.clear();
+		DependencyLibrary.addLocator(new CountingLocator(new Runnable() {
+			public void run() {
+			}
+		}));
+		LocatingThread thread = new LocatingThread();
+		thread.start();
+		assertNotNull(thread.locate());
+		assertTrue(DependencyLibrary.isCaching(thread));
+
+		// the thread is alive but no longer pins the dependency
+		DependencyLibrary.clear();
+		assertFalse(DependencyLibrary.isCaching(thread));
+
+		DependencyLibrary.addLocator(locator);
+		assertSame(dependency, thread.locate());
+		assertTrue(DependencyLibrary.isCaching(thread));
+		thread.join();
+	}
+
+	@Test
+	public void testSharedCacheProviderIsReplacedOnce() throws Exception {
+		DependencyLibrary.setCacheProvider(new SharedCacheProvider());
+		LocatingThread thread = new LocatingThread();
+		thread.start();
+		assertSame(dependency, thread.locate());
+		assertEquals(1, locator.count);
+
+		// a thread that is behind on the generation uses the new cache rather
+		// than clearing it again
+		DependencyLibrary.invalidate();
+		assertSame(dependency, DependencyLibrary.locate(KEY));
+		assertSame(dependency, thread.locate());
+		assertEquals(2, locator.count);
+		thread.join();
+	}
+
+	@Test
+	public void testSharedResolutionContext() throws Exception {
+		DependencyLibrary.setResolutionContext(ResolutionContext.SHARED);
+		assertSame(dependency, DependencyLibrary.locate(KEY));
+
+		// a new thread is served from the cache right away
+		LocatingThread thread = new LocatingThread();
+		thread.start();
+		assertSame(dependency, thread.locate());
+		assertSame(dependency, DependencyLibrary.locate(KEY, KeyRegistry.getId(KEY)));
+		assertEquals(1, locator.count);
+
+		DependencyLibrary.invalidate();
+		assertSame(dependency, thread.locate());
+		assertEquals(2, locator.count);
+		thread.join();
+	}
+
+	@Test
+	public void testCachePolicy() {
+		DependencyLibrary.clear();
+		DependencyLibrary.setCacheProvider(new NoopCacheProvider());
+
+		// singletons are cached even if the thread cache is disabled
+		PolicyLocator singleton = new PolicyLocator(dependency, CachePolicy.SINGLETON);
+		DependencyLibrary.addLocator(singleton);
+		DependencyLibrary.locate(KEY);
+		DependencyLibrary.locate(KEY);
+		assertEquals(1, singleton.count);
+
+		DependencyLibrary.clear();
+		DependencyLibrary.setCacheProvider(new SharedCacheProvider());
+
+		// scoped dependencies are never cached
+		PolicyLocator scoped = new PolicyLocator(dependency, CachePolicy.SCOPED);
+		DependencyLibrary.addLocator(scoped);
+		DependencyLibrary.locate(KEY);
+		DependencyLibrary.locate(KEY);
+		assertEquals(2, scoped.count);
+	}
+
+	@Test
+	public void testResolutionPlan() {
+		DependencyLibrary.clear();
+		DependencyLibrary.setCacheProvider(new NoopCacheProvider());
+
+		CountingLocator empty = new CountingLocator(null);
+		DependencyLibrary.addLocator(empty);
+		DependencyLibrary.addLocator(locator);
+
+		// once planned, misses go straight to the locator that answered
+		assertSame(dependency, DependencyLibrary.locate(KEY));
+		assertSame(dependency, DependencyLibrary.locate(new TestKey(Runnable.class)));
+		assertEquals(1, empty.count);
+		assertEquals(2, locator.count);
+
+		// plans are discarded along with the locators they refer to
+		DependencyLibrary.removeLocator(locator);
+		try {
+			DependencyLibrary.locate(KEY);
+			fail();
+		} catch (DependencyNotFoundException e) {
+			assertEquals(2, empty.count);
+		}
+	}
+
+	@Test
+	public void testLocatorsThatMissAreSkipped() {
+		DependencyLibrary.clear();
+		DependencyLibrary.setCacheProvider(new NoopCacheProvider());
+
+		CountingLocator empty = new CountingLocator(null);
+		DependencyLibrary.addLocator(empty);
+		for (int i = 0; i < 2; i++) {
+			try {
+				DependencyLibrary.locate(KEY);
+				fail();
+			} catch (DependencyNotFoundException e) {
+				assertEquals(1, empty.count);
+			}
+		}
+
+		// the locator is asked again once the library is invalidated
+		DependencyLibrary.invalidate();
+		try {
+			DependencyLibrary.locate(KEY);
+			fail();
+		} catch (DependencyNotFoundException e) {
+			assertEquals(2, empty.count);
+		}
+	}
+
+	@Test
+	public void testInject() {
+		InjectedBean bean = new InjectedBean();
+		DependencyLibrary.inject(bean);
+		assertSame(dependency, bean.base);
+		assertSame(dependency, bean.injected);
+		assertNull(bean.removed);
+		assertEquals(2, InjectionPlan.forClass(InjectedBean.class).size());
+	}
+
+	@Test
+	public void testProvider() throws Exception {
+		DependencyLibrary.clear();
+		CountingLocator empty = new CountingLocator(null);
+		DependencyLibrary.addLocator(empty);
+		DependencyLibrary.addLocator(locator);
+
+		Key key = KeyRegistry.forField(ProviderBean.class.getDeclaredField("provider"));
+		Provider<?> provider = (Provider<?>) DependencyLibrary.locate(key);
+		assertSame(provider, DependencyLibrary.locate(key));
+		assertEquals(0, locator.count);
+
+		// every call goes to the bound locator, the chain is walked once
+		assertSame(dependency, provider.get());
+		assertSame(dependency, provider.get());
+		assertSame(dependency, provider.get());
+		assertEquals(1, empty.count);
+		assertEquals(3, locator.count);
+
+		// the binding is renewed when the locators change
+		final Runnable other = new Runnable() {
+			public void run() {
+			}
+		};
+		DependencyLibrary.removeLocator(locator);
+		DependencyLibrary.addLocator(new CountingLocator(other));
+		assertSame(other, provider.get());
+	}
+
+	@Test
+	public void testReplaceLocators() throws Exception {
+		DependencyLibrary.setCacheProvider(new NoopCacheProvider());
+		final Runnable other = new Runnable() {
+			public void run() {
+			}
+		};
+		final boolean[] failed = new boolean[1];
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				try {
+					for (int i = 0; i < 10000; i++) {
+						DependencyLibrary.locate(KEY);
+					}
+				} catch (DependencyNotFoundException e) {
+					failed[0] = true;
+				}
+			}
+		};
+		thread.start();
+
+		// lookups never see the locators missing while they are replaced
+		for (int i = 0; i < 1000; i++) {
+			DependencyLibrary.replaceLocators(new CountingLocator(i % 2 == 0 ? other : dependency));
+		}
+		thread.join();
+		assertFalse(failed[0]);
+
+		DependencyLibrary.replaceLocators(new CountingLocator(other));
+		assertSame(other, DependencyLibrary.locate(KEY));
+	}
+
+	@Test
+	public void testLocatorChangeInvalidatesCache() {
+		DependencyLibrary.locate(KEY);
+
+		final Runnable other = new Runnable() {
+			public void run() {
+			}
+		};
+		DependencyLibrary.removeLocator(locator);
+		DependencyLibrary.addLocator(new CountingLocator(other));
+
+		assertSame(other, DependencyLibrary.locate(KEY));
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FieldInjectorTest extends Assert {
+	private static class Bean {
+		@Dependency(strategy = InstrumentationStrategy.INJECT_FIELD)
+		Runnable plain;
+
+		@Dependency(strategy = InstrumentationStrategy.INJECT_FIELD, publication = Publication.ONCE)
+		volatile Runnable once;
+
+		@Dependency(strategy = InstrumentationStrategy.INJECT_FIELD, publication = Publication.ORDERED)
+		Runnable notVolatile;
+
+		@Dependency(strategy = InstrumentationStrategy.LAZY_PROXY)
+		Runnable lazy;
+	}
+
+	private int count;
+
+	private final Runnable dependency = new Runnable() {
+		public void run() {
+		}
+	};
+
+	@Before
+	public void init() {
+		DependencyLibrary.clear();
+		DependencyLibrary.addLocator(new Locator() {
+			public Object locate(Key key) {
+				count++;
+				return dependency;
+			}
+		});
+	}
+
+	@After
+	public void destroy() {
+		DependencyLibrary.clear();
+	}
+
+	@Test
+	public void testInject() throws Exception {
+		Bean bean = new Bean();
+		FieldInjector injector = FieldInjector.forField(Bean.class.getDeclaredField("plain"));
+		assertSame(dependency, injector.inject(bean, null));
+		assertSame(dependency, bean.plain);
+	}
+
+	@Test
+	public void testInjectOnceKeepsWrittenDependency() throws Exception {
+		Bean bean = new Bean();
+		FieldInjector injector = FieldInjector.forField(Bean.class.getDeclaredField("once"));
+
+		// simulates another thread injecting the field after this one read it
+		final Runnable written = new Runnable() {
+			public void run() {
+			}
+		};
+		bean.once = written;
+		assertSame(written, injector.inject(bean, null));
+		assertSame(written, bean.once);
+	}
+
+	@Test
+	public void testInjectOnceDoesNotLockFieldOwner() throws Exception {
+		final Bean bean = new Bean();
+		final FieldInjector injector = FieldInjector.forField(Bean.class.getDeclaredField("once"));
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				injector.inject(bean, null);
+			}
+		};
+
+		// the application may hold the monitor of the bean for its own purposes
+		synchronized (bean) {
+			thread.start();
+			thread.join(5000);
+			assertFalse(thread.isAlive());
+		}
+		assertSame(dependency, bean.once);
+	}
+
+	@Test
+	public void testLazyProxy() throws Exception {
+		final Runnable dependency = EasyMock.createMock(Runnable.class);
+		dependency.run();
+		EasyMock.expectLastCall().times(3);
+		EasyMock.replay(dependency);
+		DependencyLibrary.clear();
+		DependencyLibrary.addLocator(new Locator() {
+			public Object locate(Key key) {
+				count++;
+				return dependency;
+			}
+		});
+
+		Bean bean = new Bean();
+		Runnable proxy = (Runnable) FieldInjector.forField(Bean.class.getDeclaredField("lazy")).inject(bean);
+		assertSame(proxy, bean.lazy);
+		assertEquals(0, count);
+
+		// located on first invocation only
+		proxy.run();
+		proxy.run();
+		assertEquals(1, count);
+
+		// methods of Object are delegated to the dependency
+		assertTrue(proxy.equals(proxy));
+		assertTrue(proxy.equals(dependency));
+		assertFalse(proxy.equals(this.dependency));
+		assertEquals(dependency.hashCode(), proxy.hashCode());
+		assertEquals(dependency.toString(), proxy.toString());
+		assertEquals(1, count);
+
+		// and again once the library is invalidated
+		DependencyLibrary.invalidate();
+		proxy.run();
+		assertEquals(2, count);
+		EasyMock.verify(dependency);
+	}
+
+	@Test
+	public void testPublicationRequiresVolatileField() throws Exception {
+		try {
+			FieldInjector.forField(Bean.class.getDeclaredField("notVolatile"));
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+}
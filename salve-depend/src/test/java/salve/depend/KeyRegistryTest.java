@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend;
+
+import java.lang.reflect.Field;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import salve.depend.cache.Lru3Cache;
+
+public class KeyRegistryTest extends Assert {
+	private static class Holder {
+		@SuppressWarnings("unused")
+		private transient Runnable runnable;
+	}
+
+	@Test
+	public void testForField() throws Exception {
+		Field field = Holder.class.getDeclaredField("runnable");
+		Key key = KeyRegistry.forField(field);
+		assertTrue(key == KeyRegistry.forField(field));
+		assertTrue(key == KeyRegistry.forField(Holder.class.getDeclaredField("runnable")));
+		assertTrue(key == KeyRegistry.intern(new FieldKey(Holder.class, "runnable")));
+	}
+
+	@Test
+	public void testIntern() {
+		Key key = KeyRegistry.intern(new TestKey(String.class));
+		assertTrue(key == KeyRegistry.intern(new TestKey(String.class)));
+		assertFalse(key == KeyRegistry.intern(new TestKey(Integer.class)));
+	}
+
+	@Test
+	public void testGetId() {
+		int id = KeyRegistry.getId(new TestKey(Short.class));
+		assertEquals(id, KeyRegistry.getId(KeyRegistry.intern(new TestKey(Short.class))));
+		assertEquals(id + 1, KeyRegistry.getId(new TestKey(Byte.class)));
+	}
+
+	@Test
+	public void testCacheHit() {
+		Lru3Cache<Key, Object> cache = new Lru3Cache<Key, Object>();
+		Object value = new Object();
+		cache.put(KeyRegistry.intern(new TestKey(Long.class)), value);
+		assertTrue(cache.get(KeyRegistry.intern(new TestKey(Long.class))) == value);
+	}
+}
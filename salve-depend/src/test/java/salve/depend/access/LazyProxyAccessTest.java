@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend.access;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import salve.depend.Dependency;
+import salve.depend.DependencyLibrary;
+import salve.depend.FieldInjector;
+import salve.depend.InstrumentationStrategy;
+import salve.depend.Key;
+import salve.depend.Locator;
+
+/**
+ * Lazy proxies of interfaces that are not visible to {@link FieldInjector}
+ */
+public class LazyProxyAccessTest extends Assert {
+	interface Greeter {
+		String greet(String name);
+	}
+
+	private static class Bean {
+		@Dependency(strategy = InstrumentationStrategy.LAZY_PROXY)
+		Greeter greeter;
+	}
+
+	private static class EnglishGreeter implements Greeter {
+		public String greet(String name) {
+			return "hello " + name;
+		}
+	}
+
+	@Before
+	public void init() {
+		DependencyLibrary.clear();
+		DependencyLibrary.addLocator(new Locator() {
+			public Object locate(Key key) {
+				return key.getType() == Greeter.class ? new EnglishGreeter() : null;
+			}
+		});
+	}
+
+	@After
+	public void destroy() {
+		DependencyLibrary.clear();
+	}
+
+	@Test
+	public void testNonPublicInterface() throws Exception {
+		Bean bean = new Bean();
+		FieldInjector.forField(Bean.class.getDeclaredField("greeter")).inject(bean);
+		assertEquals("hello salve", bean.greeter.greet("salve"));
+	}
+}
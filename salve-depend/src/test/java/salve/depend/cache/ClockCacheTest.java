@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import salve.depend.EvictionListener;
+
+public class ClockCacheTest extends Assert {
+
+	@Test
+	public void test() {
+		Object k1 = "k1", k2 = "k2", k3 = "k3", k4 = "k4";
+		ClockCache<Object, Object> cache = new ClockCache<Object, Object>(3);
+
+		assertNull(cache.get(k1));
+		cache.put(k1, "o1");
+		cache.put(k2, "o2");
+		cache.put(k3, "o3");
+		assertEquals(3, cache.size());
+		assertEquals("o1", cache.get(k1));
+		assertEquals("o3", cache.get(k3));
+
+		// k2 is the only entry not referenced since it was added
+		cache.put(k4, "o4");
+		assertEquals(3, cache.size());
+		assertEquals(1, cache.getEvictions());
+		assertTrue(cache.indexOf(k2) < 0);
+		assertEquals("o1", cache.get(k1));
+		assertEquals("o3", cache.get(k3));
+		assertEquals("o4", cache.get(k4));
+
+		assertEquals(5, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertNull(cache.get(k1));
+		assertNull(cache.get(k4));
+	}
+
+	@Test
+	public void testEvictionKeepsTableConsistent() {
+		ClockCache<Object, Object> cache = new ClockCache<Object, Object>(16);
+		Object[] keys = new Object[1000];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = new Object();
+			cache.put(keys[i], Integer.valueOf(i));
+			// every key still in the cache must be reachable
+			int found = 0;
+			for (int j = 0; j <= i; j++) {
+				Object value = cache.get(keys[j]);
+				if (value != null) {
+					assertEquals(Integer.valueOf(j), value);
+					found++;
+				}
+			}
+			assertEquals(Math.min(i + 1, 16), found);
+		}
+		assertEquals(keys.length - 16, cache.getEvictions());
+	}
+
+	@Test
+	public void testEvictionListener() {
+		final List<Object> evicted = new ArrayList<Object>();
+		ClockCache<Object, Object> cache = new ClockCache<Object, Object>(1);
+		cache.setEvictionListener(new EvictionListener<Object, Object>() {
+			public void evicted(Object key, Object value) {
+				evicted.add(key);
+				evicted.add(value);
+			}
+		});
+		cache.put("k1", "o1");
+		cache.put("k1", "o2");
+		assertTrue(evicted.isEmpty());
+		cache.put("k2", "o3");
+		assertEquals(Arrays.asList("k1", "o2"), evicted);
+	}
+
+	@Test
+	public void testTouch() {
+		Object k1 = "k1", k2 = "k2", k3 = "k3";
+		ClockCache<Object, Object> cache = new ClockCache<Object, Object>(2);
+		cache.put(k1, "o1");
+		cache.put(k2, "o2");
+
+		// a touched entry gets a second chance like one that was read
+		cache.touch(k1);
+		cache.touch(k3);
+		assertEquals(1, cache.getHits());
+		cache.put(k3, "o3");
+		assertTrue(cache.indexOf(k1) >= 0);
+		assertTrue(cache.indexOf(k2) < 0);
+	}
+
+	@Test
+	public void testComparesByIdentity() {
+		ClockCache<String, Object> cache = new ClockCache<String, Object>(4);
+		String key = new String("key");
+		cache.put(key, key);
+		assertNull(cache.get(new String("key")));
+		assertSame(key, cache.get(key));
+	}
+}
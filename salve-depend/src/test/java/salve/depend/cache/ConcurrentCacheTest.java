@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package salve.depend.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import salve.depend.Key;
+import salve.depend.KeyRegistry;
+import salve.depend.TestKey;
+
+public class ConcurrentCacheTest extends Assert {
+
+	@Test
+	public void test() {
+		ConcurrentCache<Object, Object> cache = new ConcurrentCache<Object, Object>();
+
+		Object[] keys = new Object[500];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = new Object();
+			assertNull(cache.get(keys[i]));
+			cache.put(keys[i], Integer.valueOf(i));
+		}
+		assertEquals(keys.length, cache.size());
+
+		// all entries survive resizing
+		for (int i = 0; i < keys.length; i++) {
+			assertEquals(Integer.valueOf(i), cache.get(keys[i]));
+		}
+
+		// put replaces existing entries
+		cache.put(keys[0], "replaced");
+		assertEquals("replaced", cache.get(keys[0]));
+		assertEquals(keys.length, cache.size());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		for (Object key : keys) {
+			assertNull(cache.get(key));
+		}
+	}
+
+	@Test
+	public void testComparesByIdentity() {
+		ConcurrentCache<String, Object> cache = new ConcurrentCache<String, Object>();
+		String key = new String("key");
+		cache.put(key, key);
+		assertNull(cache.get(new String("key")));
+		assertSame(key, cache.get(key));
+	}
+
+	@Test
+	public void testSharedBetweenThreads() throws Exception {
+		final SharedCacheProvider provider = new SharedCacheProvider();
+		final Key key = KeyRegistry.intern(new TestKey(Runnable.class));
+		final Object value = new Object();
+
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				provider.getCache().put(key, value);
+			}
+		};
+		thread.start();
+		thread.join();
+
+		assertSame(value, provider.getCache().get(key));
+	}
+}